@@ -0,0 +1,21 @@
+module tetris.group__25.core {
+    // Game logic with no JavaFX dependency: the board, pieces, scoring, input timing,
+    // persistence and analytics, plus the headless runner. Bots, servers and native
+    // images depend on this module alone.
+    requires java.prefs;
+
+    exports tetris.group__25.analytics;
+    exports tetris.group__25.bot;
+    exports tetris.group__25.dataset;
+    exports tetris.group__25.engine;
+    exports tetris.group__25.event;
+    exports tetris.group__25.headless;
+    exports tetris.group__25.input;
+    exports tetris.group__25.metrics;
+    exports tetris.group__25.persist;
+    exports tetris.group__25.raster;
+    exports tetris.group__25.scenario;
+    exports tetris.group__25.score;
+    exports tetris.group__25.solver;
+    exports tetris.group__25.tetromino;
+}
@@ -0,0 +1,75 @@
+package tetris.group__25.analytics;
+
+import tetris.group__25.persist.DataFiles;
+import tetris.group__25.persist.WriteBehindStore;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Writes the per-game table of a session as CSV and as a dataset file
+ * (see {@link GameDatasets}), plus a session summary.
+ */
+public class AnalyticsExporter {
+    private final WriteBehindStore store;
+    private final Path directory;
+
+    public AnalyticsExporter(WriteBehindStore store) {
+        this(store, DataFiles.resolve("analytics"));
+    }
+
+    public AnalyticsExporter(WriteBehindStore store, Path directory) {
+        this.store = store;
+        this.directory = directory;
+    }
+
+    public void export(SessionAggregates aggregates, AnalyticsSnapshot summary) {
+        String base = baseName(aggregates);
+        GameTable games = aggregates.getGames();
+        store.replace(directory.resolve(base + "-games.csv"), toCsv(games));
+        store.replace(directory.resolve(base + "-games.nds"), GameDatasets.gamesToBytes(games));
+        store.replace(directory.resolve(base + "-summary.csv"), toSummaryCsv(summary));
+    }
+
+    public Path piecesFile(SessionAggregates aggregates) {
+        return directory.resolve(baseName(aggregates) + "-pieces.nds");
+    }
+
+    private static String baseName(SessionAggregates aggregates) {
+        return "session-" + aggregates.getSessionStartMillis();
+    }
+
+    static byte[] toCsv(GameTable t) {
+        StringBuilder sb = new StringBuilder(String.join(",", GameTable.COLUMNS)).append('\n');
+        for (int row = 0; row < t.size(); row++) {
+            sb.append(t.score(row)).append(',').append(t.level(row)).append(',')
+                    .append(t.lines(row)).append(',').append(t.pieces(row)).append(',')
+                    .append(t.holds(row));
+            for (int lines = 1; lines <= 4; lines++) {
+                sb.append(',').append(t.clears(row, lines));
+            }
+            sb.append(',').append(String.format(Locale.ROOT, "%.2f", t.avgStackHeight(row)))
+                    .append(',').append(t.durationMillis(row))
+                    .append(',').append(t.seed(row)).append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] toSummaryCsv(AnalyticsSnapshot s) {
+        StringBuilder sb = new StringBuilder("metric,value\n");
+        sb.append("games,").append(s.games()).append('\n');
+        sb.append("pieces,").append(s.pieces()).append('\n');
+        sb.append("holds,").append(s.holds()).append('\n');
+        sb.append(String.format(Locale.ROOT, "piecesPerSecond,%.3f\n", s.piecesPerSecond()));
+        sb.append(String.format(Locale.ROOT, "averageStackHeight,%.2f\n", s.averageStackHeight()));
+        String[] clearNames = {"singles", "doubles", "triples", "tetrises"};
+        for (int i = 0; i < clearNames.length; i++) {
+            sb.append(clearNames[i]).append(',').append(s.clearsByType()[i]).append('\n');
+        }
+        for (int level = 0; level < s.levelTimeMillis().length; level++) {
+            sb.append("level").append(level).append("Millis,").append(s.levelTimeMillis()[level]).append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,126 @@
+package tetris.group__25.analytics;
+
+import tetris.group__25.dataset.DatasetWriter;
+import tetris.group__25.event.EventBus;
+import tetris.group__25.event.GameEvent;
+import tetris.group__25.event.GameEventListener;
+import tetris.group__25.score.ScoreSystem;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Streaming analytics for a play session. Subscribed to the game's {@link EventBus}, it
+ * folds each frame's batch of events into the running {@link SessionAggregates} as it is
+ * delivered, so the raw stream is never kept. Game starts and ends come from the game
+ * itself, which knows when a training top out is final.
+ */
+public class AnalyticsPipeline implements GameEventListener {
+    private final long sessionStart = System.nanoTime();
+    private final ScoreSystem scoreSystem;
+    private final SessionAggregates aggregates;
+    private DatasetWriter pieceRecorder;
+    private ExecutorService recorderThread;
+    private final Thread shutdownHook = new Thread(this::closeRecorder, "piece-recorder-shutdown");
+
+    public AnalyticsPipeline(ScoreSystem scoreSystem) {
+        this.scoreSystem = scoreSystem;
+        this.aggregates = new SessionAggregates(System.currentTimeMillis());
+    }
+
+    public void subscribe(EventBus bus) {
+        bus.subscribe(this, GameEvent.Type.PIECE_LOCKED, GameEvent.Type.LINES_CLEARED, GameEvent.Type.HOLD,
+                GameEvent.Type.BOARD_CHANGED, GameEvent.Type.LEVEL_UP);
+    }
+
+    @Override
+    public void onEvent(GameEvent event) {
+        long time = event.getTime() - sessionStart;
+        switch (event.getType()) {
+            case PIECE_LOCKED -> {
+                if (pieceRecorder != null && aggregates.isInGame()) {
+                    synchronized (this) {
+                        if (pieceRecorder != null) {
+                            pieceRecorder.setInt(0, aggregates.getGames().size())
+                                    .setInt(1, aggregates.getGamePieces())
+                                    .setInt(2, event.getCode())
+                                    .setInt(3, event.getValue())
+                                    .setInt(4, aggregates.getCurrentLevel())
+                                    .setLong(5, time / 1_000_000L)
+                                    .endRow();
+                        }
+                    }
+                }
+                aggregates.pieceLocked(time, event.getCode(), event.getValue());
+            }
+            case LINES_CLEARED -> aggregates.linesCleared(event.getValue());
+            case HOLD -> aggregates.held();
+            // An undo can take the level back down as well
+            case LEVEL_UP, BOARD_CHANGED -> aggregates.levelReached(time, scoreSystem.getLevel());
+            default -> { }
+        }
+    }
+
+    public void recordPieces(Path file) throws IOException {
+        /*
+         * Also keep every locked piece as a dataset row. The file has its own channel and
+         * writer thread, so the game thread only pays for encoding a chunk every few
+         * thousand pieces and no chunk can be dropped by a busy store. The footer is written
+         * by close(), or by a shutdown hook if the process exits without it; a file that
+         * still has none keeps its complete chunks (see DatasetReader).
+         */
+        Files.createDirectories(file.getParent());
+        recorderThread = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "piece-recorder");
+            t.setDaemon(true);
+            return t;
+        });
+        pieceRecorder = DatasetWriter.toFile(GameDatasets.PIECES, file, GameDatasets.PIECE_ROWS_PER_CHUNK, recorderThread);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    public void gameStarted(long seed) {
+        long time = System.nanoTime() - sessionStart;
+        aggregates.gameStarted(time, seed);
+        aggregates.levelReached(time, scoreSystem.getLevel());
+    }
+
+    public void gameOver(long eventTime) {
+        // Called by the game with the GAME_OVER event's time once the game is really over
+        aggregates.gameOver(eventTime - sessionStart, scoreSystem.getScore(), scoreSystem.getLevel());
+    }
+
+    public AnalyticsSnapshot snapshot() {
+        return aggregates.snapshot(System.nanoTime() - sessionStart);
+    }
+
+    public void close() {
+        closeRecorder();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // already shutting down: the hook is running
+        } catch (IllegalArgumentException e) {
+            // never registered
+        }
+    }
+
+    private synchronized void closeRecorder() {
+        if (pieceRecorder == null) return;
+        try {
+            pieceRecorder.close();
+        } catch (RuntimeException e) {
+            System.err.println("Could not finish the piece recording: " + e.getMessage());
+        } finally {
+            pieceRecorder = null;
+            recorderThread.shutdown();
+        }
+    }
+
+    public SessionAggregates getAggregates() {
+        return aggregates;
+    }
+}
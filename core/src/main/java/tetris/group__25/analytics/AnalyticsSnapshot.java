@@ -0,0 +1,11 @@
+package tetris.group__25.analytics;
+
+/**
+ * Point-in-time view of the session aggregates.
+ * {@code clearsByType[0..3]} count singles, doubles, triples and tetrises;
+ * {@code levelTimeMillis[n]} is the play time spent on level n.
+ */
+public record AnalyticsSnapshot(long pieces, double piecesPerSecond, double rollingPiecesPerSecond,
+                                long[] clearsByType, double averageStackHeight, long holds,
+                                int games, long[] levelTimeMillis) {
+}
@@ -0,0 +1,46 @@
+package tetris.group__25.analytics;
+
+import tetris.group__25.dataset.ColumnType;
+import tetris.group__25.dataset.DatasetWriter;
+import tetris.group__25.dataset.Schema;
+
+/**
+ * Dataset schemas for game results and per-piece events, as read by
+ * {@link tetris.group__25.dataset.DatasetQuery}.
+ */
+public final class GameDatasets {
+    public static final Schema GAMES = Schema.of(
+            "score", ColumnType.INT, "level", ColumnType.INT, "lines", ColumnType.INT,
+            "pieces", ColumnType.INT, "holds", ColumnType.INT,
+            "singles", ColumnType.INT, "doubles", ColumnType.INT,
+            "triples", ColumnType.INT, "tetrises", ColumnType.INT,
+            "avgStackHeight", ColumnType.FLOAT, "durationMillis", ColumnType.LONG,
+            "seed", ColumnType.LONG);
+
+    public static final Schema PIECES = Schema.of(
+            "game", ColumnType.INT, "piece", ColumnType.INT, "colorCode", ColumnType.INT,
+            "stackHeight", ColumnType.INT, "level", ColumnType.INT, "timeMillis", ColumnType.LONG);
+
+    // Piece rows arrive a few per second; small chunks keep each encode well under a frame.
+    public static final int PIECE_ROWS_PER_CHUNK = 4096;
+
+    private GameDatasets() {
+    }
+
+    public static void writeGames(GameTable t, DatasetWriter out) {
+        for (int row = 0; row < t.size(); row++) {
+            out.setInt(0, t.score(row)).setInt(1, t.level(row)).setInt(2, t.lines(row))
+                    .setInt(3, t.pieces(row)).setInt(4, t.holds(row));
+            for (int lines = 1; lines <= 4; lines++) {
+                out.setInt(4 + lines, t.clears(row, lines));
+            }
+            out.setFloat(9, t.avgStackHeight(row)).setLong(10, t.durationMillis(row))
+                    .setLong(11, t.seed(row));
+            out.endRow();
+        }
+    }
+
+    public static byte[] gamesToBytes(GameTable t) {
+        return DatasetWriter.toBytes(GAMES, out -> writeGames(t, out));
+    }
+}
@@ -0,0 +1,64 @@
+package tetris.group__25.analytics;
+
+import java.util.Arrays;
+
+/**
+ * One row per finished game, stored column by column in growable primitive arrays.
+ */
+public class GameTable {
+    public static final String[] COLUMNS = {
+            "score", "level", "lines", "pieces", "holds",
+            "singles", "doubles", "triples", "tetrises", "avgStackHeight", "durationMillis", "seed"
+    };
+
+    private int size;
+    private int[] score = new int[16], level = new int[16], lines = new int[16],
+            pieces = new int[16], holds = new int[16];
+    private int[][] clears = new int[4][16]; // singles .. tetrises
+    private float[] avgStackHeight = new float[16];
+    private long[] durationMillis = new long[16];
+    private long[] seed = new long[16];
+
+    void add(int score, int level, int lines, int pieces, int holds, int[] clearsByLines,
+             float avgStackHeight, long durationMillis, long seed) {
+        if (size == this.score.length) grow();
+        this.score[size] = score;
+        this.level[size] = level;
+        this.lines[size] = lines;
+        this.pieces[size] = pieces;
+        this.holds[size] = holds;
+        for (int t = 0; t < 4; t++) {
+            this.clears[t][size] = clearsByLines[t + 1];
+        }
+        this.avgStackHeight[size] = avgStackHeight;
+        this.durationMillis[size] = durationMillis;
+        this.seed[size] = seed;
+        size++;
+    }
+
+    private void grow() {
+        int n = size * 2;
+        score = Arrays.copyOf(score, n);
+        level = Arrays.copyOf(level, n);
+        lines = Arrays.copyOf(lines, n);
+        pieces = Arrays.copyOf(pieces, n);
+        holds = Arrays.copyOf(holds, n);
+        for (int t = 0; t < 4; t++) {
+            clears[t] = Arrays.copyOf(clears[t], n);
+        }
+        avgStackHeight = Arrays.copyOf(avgStackHeight, n);
+        durationMillis = Arrays.copyOf(durationMillis, n);
+        seed = Arrays.copyOf(seed, n);
+    }
+
+    public int size() { return size; }
+    public int score(int row) { return score[row]; }
+    public int level(int row) { return level[row]; }
+    public int lines(int row) { return lines[row]; }
+    public int pieces(int row) { return pieces[row]; }
+    public int holds(int row) { return holds[row]; }
+    public int clears(int row, int linesAtOnce) { return clears[linesAtOnce - 1][row]; }
+    public float avgStackHeight(int row) { return avgStackHeight[row]; }
+    public long durationMillis(int row) { return durationMillis[row]; }
+    public long seed(int row) { return seed[row]; }
+}
@@ -0,0 +1,165 @@
+package tetris.group__25.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Running totals for a session, updated one event at a time. Pieces per second are
+ * tracked over the whole session and over a rolling window of one-second buckets,
+ * and the time spent on each level is accumulated as the level changes.
+ */
+public class SessionAggregates {
+    private static final int WINDOW_SECONDS = 10;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long sessionStartMillis;
+    private long pieces, holds, stackHeightSum;
+    private final long[] clears = new long[5]; // index = lines cleared at once
+    private long[] levelNanos = new long[32];
+    private long closedGamesNanos;
+
+    // Rolling window: piece counts for the last WINDOW_SECONDS whole seconds
+    private final int[] secondBuckets = new int[WINDOW_SECONDS];
+    private long currentSecond;
+
+    // Current game
+    private boolean inGame;
+    private long gameStart, levelSince;
+    private int currentLevel;
+    private int gamePieces, gameHolds, gameLines;
+    private long gameStackSum, gameSeed;
+    private final int[] gameClears = new int[5];
+
+    private final GameTable games = new GameTable();
+
+    public SessionAggregates(long sessionStartMillis) {
+        this.sessionStartMillis = sessionStartMillis;
+    }
+
+    void gameStarted(long time, long seed) {
+        if (inGame) {
+            // The last game was left without a game over: keep its play time, not its row
+            addLevelTime(currentLevel, time - levelSince);
+            closedGamesNanos += time - gameStart;
+        }
+        inGame = true;
+        gameSeed = seed;
+        gameStart = levelSince = time;
+        currentLevel = 0;
+        gamePieces = gameHolds = gameLines = 0;
+        gameStackSum = 0;
+        Arrays.fill(gameClears, 0);
+    }
+
+    void pieceLocked(long time, int colorCode, int stackHeight) {
+        pieces++;
+        stackHeightSum += stackHeight;
+        gamePieces++;
+        gameStackSum += stackHeight;
+
+        long second = time / NANOS_PER_SECOND;
+        advanceWindow(second);
+        secondBuckets[(int) (second % WINDOW_SECONDS)]++;
+    }
+
+    private void advanceWindow(long second) {
+        // Zero the buckets of every second that passed without an event
+        if (second <= currentSecond) return;
+        long gap = Math.min(WINDOW_SECONDS, second - currentSecond);
+        for (long s = second - gap + 1; s <= second; s++) {
+            secondBuckets[(int) (s % WINDOW_SECONDS)] = 0;
+        }
+        currentSecond = second;
+    }
+
+    void linesCleared(int lines) {
+        int type = Math.min(lines, 4);
+        clears[type]++;
+        gameClears[type]++;
+        gameLines += lines;
+    }
+
+    void held() {
+        holds++;
+        gameHolds++;
+    }
+
+    void levelReached(long time, int level) {
+        if (!inGame || level == currentLevel) return;
+        addLevelTime(currentLevel, time - levelSince);
+        currentLevel = level;
+        levelSince = time;
+    }
+
+    void gameOver(long time, int score, int level) {
+        if (!inGame) return;
+        levelReached(time, level);
+        addLevelTime(currentLevel, time - levelSince);
+        long duration = time - gameStart;
+        closedGamesNanos += duration;
+        games.add(score, currentLevel, gameLines, gamePieces, gameHolds, gameClears,
+                gamePieces == 0 ? 0 : (float) gameStackSum / gamePieces,
+                duration / 1_000_000L, gameSeed);
+        inGame = false;
+    }
+
+    private void addLevelTime(int level, long nanos) {
+        if (level >= levelNanos.length) {
+            levelNanos = Arrays.copyOf(levelNanos, Math.max(level + 1, levelNanos.length * 2));
+        }
+        levelNanos[level] += nanos;
+    }
+
+    public AnalyticsSnapshot snapshot(long time) {
+        long playNanos = closedGamesNanos + (inGame ? time - gameStart : 0);
+        long[] levelMillis = new long[levelNanos.length];
+        for (int i = 0; i < levelNanos.length; i++) {
+            levelMillis[i] = levelNanos[i] / 1_000_000L;
+        }
+        if (inGame && currentLevel < levelMillis.length) {
+            levelMillis[currentLevel] += (time - levelSince) / 1_000_000L;
+        }
+        int last = levelMillis.length;
+        while (last > 1 && levelMillis[last - 1] == 0) last--;
+
+        return new AnalyticsSnapshot(
+                pieces,
+                playNanos == 0 ? 0 : pieces * (double) NANOS_PER_SECOND / playNanos,
+                rollingPiecesPerSecond(time),
+                Arrays.copyOfRange(clears, 1, 5),
+                pieces == 0 ? 0 : (double) stackHeightSum / pieces,
+                holds,
+                games.size(),
+                Arrays.copyOf(levelMillis, last));
+    }
+
+    private double rollingPiecesPerSecond(long time) {
+        long second = time / NANOS_PER_SECOND;
+        long stale = second - currentSecond; // buckets older than the window are excluded
+        if (stale >= WINDOW_SECONDS) return 0;
+        int total = 0;
+        for (long s = second - WINDOW_SECONDS + 1; s <= currentSecond; s++) {
+            if (s >= 0) total += secondBuckets[(int) (s % WINDOW_SECONDS)];
+        }
+        return total / (double) WINDOW_SECONDS;
+    }
+
+    boolean isInGame() {
+        return inGame;
+    }
+
+    int getCurrentLevel() {
+        return currentLevel;
+    }
+
+    int getGamePieces() {
+        return gamePieces;
+    }
+
+    public long getSessionStartMillis() {
+        return sessionStartMillis;
+    }
+
+    public GameTable getGames() {
+        return games;
+    }
+}
@@ -0,0 +1,260 @@
+package tetris.group__25.bot;
+
+import tetris.group__25.engine.Board;
+import tetris.group__25.persist.DataFiles;
+import tetris.group__25.persist.WriteBehindStore;
+import tetris.group__25.score.Ruleset;
+import tetris.group__25.score.ScoreSystem;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Tunes {@link HeuristicBot} weights with the cross-entropy method. Each generation
+ * samples candidates from a normal distribution per weight, plays every candidate on the
+ * same seeded games (so they are compared on equal pieces), and refits the distribution
+ * to the best fraction. Games are split across a fork/join pool and balanced by work
+ * stealing, since their lengths vary a lot. The distribution is checkpointed after every
+ * generation and a run picks up from its checkpoint; the checkpoint's weights load as a
+ * bot directly ({@link Weights#load}). Scoring follows the ruleset from
+ * {@code -Dtetris.rules}, so retuning after a rules change is one run.
+ *
+ * <pre>
+ * BotTuner [--generations N] [--population N] [--games N] [--pieces N] [--elite F]
+ *          [--fitness lines|score] [--threads N] [--seed S] [--checkpoint PATH]
+ * </pre>
+ */
+public final class BotTuner {
+    private static final double MIN_SIGMA = 0.01;
+
+    /** Totals of one game. */
+    public record GameResult(int score, int lines, int pieces) { }
+
+    private final Ruleset rules;
+    private final int games, pieces;
+    private final boolean scoreFitness;
+    private final ForkJoinPool pool;
+    private final long seed;
+    private double[] mean = Weights.DEFAULT.toArray();
+    private double[] sigma = new double[mean.length];
+    private int generation;
+    private Weights best = Weights.DEFAULT;
+    private double bestFitness = Double.NEGATIVE_INFINITY;
+
+    public BotTuner(Ruleset rules, int games, int pieces, boolean scoreFitness, ForkJoinPool pool, long seed) {
+        if (games < 1) throw new IllegalArgumentException("Need at least one game per candidate: " + games);
+        this.rules = rules;
+        this.games = games;
+        this.pieces = pieces;
+        this.scoreFitness = scoreFitness;
+        this.pool = pool;
+        this.seed = seed;
+        Arrays.fill(sigma, 0.5);
+    }
+
+    public static GameResult play(Weights weights, Ruleset rules, long seed, int maxPieces) {
+        // One seeded headless game, stopped after maxPieces if the bot survives that long
+        Board board = new Board();
+        HeuristicBot.prepare(board);
+        board.reset(seed);
+        ScoreSystem score = new ScoreSystem(rules);
+        HeuristicBot bot = new HeuristicBot(weights);
+        long firstLock = board.getLockCount();
+        while (!board.isGameOver() && board.getLockCount() - firstLock < maxPieces) {
+            bot.playPiece(board);
+            score.addLock(board.getLastLinesCleared(), board.getLastSpin());
+            board.completeLineClear();
+        }
+        return new GameResult(score.getScore(), score.getTotalLines(), (int) (board.getLockCount() - firstLock));
+    }
+
+    public double[] step(int population, double eliteFraction) {
+        /*
+         * Run one generation and return the fitness of each candidate.
+         */
+        if (population < 2) throw new IllegalArgumentException("Need at least two candidates to refit: " + population);
+        SplittableRandom random = new SplittableRandom(seed ^ generation * 0x9E3779B97F4A7C15L);
+        double[][] candidates = new double[population][];
+        for (int c = 0; c < population; c++) {
+            candidates[c] = new double[mean.length];
+            for (int i = 0; i < mean.length; i++) {
+                candidates[c][i] = mean[i] + sigma[i] * gaussian(random);
+            }
+        }
+        long[] gameSeeds = random.longs(games).toArray();
+
+        double[] results = new double[population * games];
+        pool.invoke(new Games(candidates, gameSeeds, results, 0, results.length));
+        double[] fitness = new double[population];
+        for (int r = 0; r < results.length; r++) {
+            fitness[r / games] += results[r] / games;
+        }
+
+        Integer[] order = new Integer[population];
+        for (int c = 0; c < population; c++) {
+            order[c] = c;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(c -> -fitness[c]));
+        if (fitness[order[0]] > bestFitness) {
+            bestFitness = fitness[order[0]];
+            best = Weights.fromArray(candidates[order[0]]);
+        }
+
+        // Refit to the elite; the extra noise shrinks over generations so the search
+        // does not collapse onto an early elite
+        int elite = Math.min(population, Math.max(2, (int) Math.round(population * eliteFraction)));
+        double noise = 0.25 / (generation + 1);
+        for (int i = 0; i < mean.length; i++) {
+            double sum = 0, sumSquares = 0;
+            for (int e = 0; e < elite; e++) {
+                double w = candidates[order[e]][i];
+                sum += w;
+                sumSquares += w * w;
+            }
+            mean[i] = sum / elite;
+            double variance = Math.max(0, sumSquares / elite - mean[i] * mean[i]);
+            sigma[i] = Math.max(MIN_SIGMA, Math.sqrt(variance + noise * noise));
+        }
+        generation++;
+        return fitness;
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian
+        double u = 1.0 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private final class Games extends RecursiveAction {
+        // Splits the (candidate, game) pairs until single games are left; idle workers
+        // steal the other halves
+        private final double[][] candidates;
+        private final long[] gameSeeds;
+        private final double[] results;
+        private final int from, to;
+
+        Games(double[][] candidates, long[] gameSeeds, double[] results, int from, int to) {
+            this.candidates = candidates;
+            this.gameSeeds = gameSeeds;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (from >= to) return;
+            if (to - from == 1) {
+                GameResult result = play(Weights.fromArray(candidates[from / games]), rules,
+                        gameSeeds[from % games], pieces);
+                results[from] = scoreFitness ? result.score() : result.lines();
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Games(candidates, gameSeeds, results, from, mid),
+                    new Games(candidates, gameSeeds, results, mid, to));
+        }
+    }
+
+    public void restore(Path checkpoint) throws IOException {
+        // Continue from a checkpoint written by checkpoint()
+        Properties p = new Properties();
+        try (Reader in = Files.newBufferedReader(checkpoint)) {
+            p.load(in);
+        }
+        mean = Weights.fromProperties(p).toArray();
+        for (int i = 0; i < sigma.length; i++) {
+            sigma[i] = Double.parseDouble(p.getProperty("sigma." + Weights.NAMES[i], Double.toString(sigma[i])));
+        }
+        generation = Integer.parseInt(p.getProperty("generation", "0"));
+        Properties bestWeights = new Properties();
+        for (String key : p.stringPropertyNames()) {
+            if (key.startsWith("best.weight.")) bestWeights.setProperty(key.substring(5), p.getProperty(key));
+        }
+        best = Weights.fromProperties(bestWeights);
+        bestFitness = Double.parseDouble(p.getProperty("best.fitness", "-Infinity"));
+    }
+
+    public byte[] checkpoint() {
+        Properties p = new Properties();
+        Weights.fromArray(mean).store(p);
+        for (int i = 0; i < sigma.length; i++) {
+            p.setProperty("sigma." + Weights.NAMES[i], Double.toString(sigma[i]));
+        }
+        p.setProperty("generation", Integer.toString(generation));
+        p.setProperty("rules", rules.getName());
+        Properties bestWeights = new Properties();
+        best.store(bestWeights);
+        bestWeights.forEach((k, v) -> p.setProperty("best." + k, (String) v));
+        p.setProperty("best.fitness", Double.toString(bestFitness));
+        StringWriter out = new StringWriter();
+        try {
+            p.store(out, "BotTuner checkpoint; weight.* is the current mean");
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // StringWriter does not throw
+        }
+        return out.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    public int getGeneration() { return generation; }
+    public Weights getMean() { return Weights.fromArray(mean); }
+    public Weights getBest() { return best; }
+    public double getBestFitness() { return bestFitness; }
+
+    public static void main(String[] args) throws IOException {
+        int generations = 20, population = 40, games = 8, pieces = 500;
+        int threads = Runtime.getRuntime().availableProcessors();
+        double elite = 0.2;
+        boolean scoreFitness = false;
+        long seed = 1;
+        Path checkpoint = DataFiles.resolve("bot-tuning.properties");
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--generations" -> generations = Integer.parseInt(args[i + 1]);
+                case "--population" -> population = Integer.parseInt(args[i + 1]);
+                case "--games" -> games = Integer.parseInt(args[i + 1]);
+                case "--pieces" -> pieces = Integer.parseInt(args[i + 1]);
+                case "--elite" -> elite = Double.parseDouble(args[i + 1]);
+                case "--fitness" -> scoreFitness = args[i + 1].equals("score");
+                case "--threads" -> threads = Integer.parseInt(args[i + 1]);
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                case "--checkpoint" -> checkpoint = Path.of(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        if (population < 2) throw new IllegalArgumentException("--population must be at least 2: " + population);
+        if (games < 1) throw new IllegalArgumentException("--games must be at least 1: " + games);
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        BotTuner tuner = new BotTuner(Ruleset.fromSystemProperties(), games, pieces, scoreFitness, pool, seed);
+        if (Files.isRegularFile(checkpoint)) {
+            tuner.restore(checkpoint);
+            System.out.println("Resuming from " + checkpoint + " at generation " + tuner.getGeneration());
+        }
+        try (WriteBehindStore store = new WriteBehindStore()) {
+            while (tuner.getGeneration() < generations) {
+                long start = System.nanoTime();
+                double[] fitness = tuner.step(population, elite);
+                double average = Arrays.stream(fitness).average().orElse(0);
+                double top = Arrays.stream(fitness).max().orElse(0);
+                System.out.printf(Locale.ROOT, "generation %d: best %.1f, average %.1f, %.1f s%n  mean %s%n",
+                        tuner.getGeneration(), top, average, (System.nanoTime() - start) / 1e9, tuner.getMean());
+                store.replace(checkpoint, tuner.checkpoint());
+            }
+        }
+        pool.shutdown();
+        System.out.printf(Locale.ROOT, "best %.1f: %s%ncheckpoint %s%n", tuner.getBestFitness(), tuner.getBest(), checkpoint);
+    }
+}
@@ -0,0 +1,110 @@
+package tetris.group__25.bot;
+
+import tetris.group__25.engine.Board;
+import tetris.group__25.tetromino.Piece;
+
+/**
+ * Plays one piece at a time by trying every rotation and column of the piece in play
+ * (and of the hold piece), scoring the board each leaves with {@link Weights}, and
+ * hard-dropping the best. Candidates are tried with {@link Board#lock()} and taken back
+ * with {@link Board#undo()} or {@link Board#rewindTurn()}, so the board needs an undo
+ * history of at least one piece.
+ */
+public final class HeuristicBot {
+    private final Weights weights;
+    private final int[] tried = new int[80]; // landing positions already scored this turn
+    private final int[] heights = new int[10];
+
+    public HeuristicBot(Weights weights) {
+        this.weights = weights;
+    }
+
+    public static void prepare(Board board) {
+        // Enough history for make/unmake of one placement
+        board.setHistory(1);
+    }
+
+    public boolean playPiece(Board board) {
+        /*
+         * Place the piece in play; returns whether it was swapped through hold first.
+         */
+        if (board.isGameOver() || board.getCurrentPiece() == null) return false;
+        double best = Double.NEGATIVE_INFINITY;
+        int bestRotation = 0, bestX = 0;
+        boolean bestHold = false;
+        for (int useHold = 0; useHold < 2; useHold++) {
+            if (useHold == 1) {
+                boolean allowed = board.hold() && !board.isGameOver();
+                board.rewindTurn();
+                if (!allowed) break; // hold is not allowed or tops out
+            }
+            int count = 0;
+            for (int rotation = 0; rotation < 4; rotation++) {
+                for (int x = -2; x < 10; x++) {
+                    if (useHold == 1) board.hold();
+                    boolean reached = moveTo(board, rotation, x);
+                    int landed = board.getCurrentPacked();
+                    boolean repeat = false;
+                    for (int i = 0; i < count && !repeat; i++) {
+                        repeat = tried[i] == landed;
+                    }
+                    if (!reached || repeat) {
+                        board.rewindTurn();
+                        continue;
+                    }
+                    tried[count++] = landed;
+                    double score = evaluate(board, board.lock());
+                    if (score > best) {
+                        best = score;
+                        bestRotation = rotation;
+                        bestX = x;
+                        bestHold = useHold == 1;
+                    }
+                    if (!board.undo()) throw new IllegalStateException("Board has no undo history; call prepare()");
+                }
+            }
+        }
+        if (bestHold) board.hold();
+        moveTo(board, bestRotation, bestX);
+        board.hardDrop();
+        return bestHold;
+    }
+
+    private static boolean moveTo(Board board, int rotation, int x) {
+        // From the spawn position: turn, shift, then drop to the ground
+        for (int r = 0; r < rotation; r++) {
+            board.rotate();
+        }
+        while (Piece.x(board.getCurrentPacked()) > x && board.moveLeft()) { }
+        while (Piece.x(board.getCurrentPacked()) < x && board.moveRight()) { }
+        board.dropToGround();
+        int piece = board.getCurrentPacked();
+        return Piece.x(piece) == x && Piece.rotation(piece) == rotation;
+    }
+
+    double evaluate(Board board, int lines) {
+        /*
+         * Features of the board after the lock, rows still in place if they cleared: the
+         * cleared rows are full, so subtracting them from every column height gives the
+         * stack as it will be once they collapse.
+         */
+        int aggregate = 0, holes = 0, bumpiness = 0, wells = 0;
+        for (int x = 0; x < 10; x++) {
+            int column = board.getColumnMask(x);
+            int height = column == 0 ? 0 : 20 - Integer.numberOfTrailingZeros(column);
+            heights[x] = Math.max(0, height - lines);
+            holes += height - Integer.bitCount(column);
+            aggregate += heights[x];
+        }
+        for (int x = 0; x < 10; x++) {
+            if (x > 0) bumpiness += Math.abs(heights[x] - heights[x - 1]);
+            int left = x > 0 ? heights[x - 1] : 20;
+            int right = x < 9 ? heights[x + 1] : 20;
+            wells += Math.max(0, Math.min(left, right) - heights[x]);
+        }
+        return weights.height() * aggregate + weights.holes() * holes + weights.bumpiness() * bumpiness
+                + weights.wells() * wells + weights.lines() * lines;
+    }
+
+    public Weights getWeights() { return weights; }
+}
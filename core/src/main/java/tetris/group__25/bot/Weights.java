@@ -0,0 +1,58 @@
+package tetris.group__25.bot;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Evaluation weights of the {@link HeuristicBot}, one per board feature. Stored as
+ * {@code weight.<name>} properties, which is also how {@link BotTuner} checkpoints the
+ * mean of its search, so a checkpoint can be loaded directly as a bot.
+ */
+public record Weights(double height, double holes, double bumpiness, double wells, double lines) {
+    // Hand-tuned starting point: low, flat, hole-free stacks and cleared lines
+    public static final Weights DEFAULT = new Weights(-0.51, -0.36, -0.18, -0.10, 0.76);
+    static final String[] NAMES = {"height", "holes", "bumpiness", "wells", "lines"};
+
+    public double[] toArray() {
+        return new double[] {height, holes, bumpiness, wells, lines};
+    }
+
+    public static Weights fromArray(double[] w) {
+        return new Weights(w[0], w[1], w[2], w[3], w[4]);
+    }
+
+    public void store(Properties p) {
+        double[] w = toArray();
+        for (int i = 0; i < NAMES.length; i++) {
+            p.setProperty("weight." + NAMES[i], Double.toString(w[i]));
+        }
+    }
+
+    public static Weights fromProperties(Properties p) {
+        // Missing weights keep their default
+        double[] w = DEFAULT.toArray();
+        for (int i = 0; i < NAMES.length; i++) {
+            String value = p.getProperty("weight." + NAMES[i]);
+            if (value != null) w[i] = Double.parseDouble(value.trim());
+        }
+        return fromArray(w);
+    }
+
+    public static Weights load(Path file) throws IOException {
+        Properties p = new Properties();
+        try (Reader in = Files.newBufferedReader(file)) {
+            p.load(in);
+        }
+        return fromProperties(p);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "height=%.3f holes=%.3f bumpiness=%.3f wells=%.3f lines=%.3f",
+                height, holes, bumpiness, wells, lines);
+    }
+}
@@ -0,0 +1,26 @@
+package tetris.group__25.dataset;
+
+public enum ColumnType {
+    // Primitive column types; the tag is what is stored in the file header.
+    INT('I', Integer.BYTES),
+    LONG('J', Long.BYTES),
+    FLOAT('F', Float.BYTES);
+
+    private final char tag;
+    private final int width;
+
+    ColumnType(char tag, int width) {
+        this.tag = tag;
+        this.width = width;
+    }
+
+    public char tag() { return tag; }
+    public int width() { return width; }
+
+    public static ColumnType fromTag(int tag) {
+        for (ColumnType t : values()) {
+            if (t.tag == tag) return t;
+        }
+        throw new IllegalArgumentException("Unknown column type tag: " + (char) tag);
+    }
+}
@@ -0,0 +1,279 @@
+package tetris.group__25.dataset;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Offline filter/group/aggregate over a dataset file. Chunks whose min/max statistics
+ * cannot match the filters are skipped without being mapped; the rest are scanned in
+ * parallel, each into its own small hash table, and the tables are merged at the end.
+ *
+ * <pre>
+ * DatasetQuery &lt;file&gt; [--where col&lt;op&gt;value]... [--group-by col[:width]]...
+ *              [--agg count|sum:col|avg:col|min:col|max:col]...
+ * </pre>
+ *
+ * {@code op} is one of {@code < <= > >= = !=}. A width buckets a group key, e.g.
+ * {@code --group-by score:1000} gives a score distribution.
+ */
+public class DatasetQuery {
+    private record Filter(int column, String op, double value) {
+        boolean test(double v) {
+            return switch (op) {
+                case "<" -> v < value;
+                case "<=" -> v <= value;
+                case ">" -> v > value;
+                case ">=" -> v >= value;
+                case "!=" -> v != value;
+                default -> v == value;
+            };
+        }
+
+        boolean mayMatch(double min, double max) {
+            return switch (op) {
+                case "<" -> min < value;
+                case "<=" -> min <= value;
+                case ">" -> max > value;
+                case ">=" -> max >= value;
+                case "!=" -> !(min == value && max == value);
+                default -> min <= value && value <= max;
+            };
+        }
+    }
+
+    private record GroupBy(int column, double width) {
+        double key(double v) {
+            return width > 0 ? Math.floor(v / width) * width : v;
+        }
+    }
+
+    private record Aggregate(String function, int column, String label) { }
+
+    private record Key(double[] parts) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && Arrays.equals(parts, k.parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(parts);
+        }
+    }
+
+    private final DatasetReader reader;
+    private final List<Filter> filters = new ArrayList<>();
+    private final List<GroupBy> groups = new ArrayList<>();
+    private final List<Aggregate> aggregates = new ArrayList<>();
+    private final AtomicInteger scannedChunks = new AtomicInteger();
+
+    public DatasetQuery(DatasetReader reader) {
+        this.reader = reader;
+    }
+
+    public DatasetQuery where(String expression) {
+        String[] ops = {"<=", ">=", "!=", "<", ">", "="};
+        for (String op : ops) {
+            int at = expression.indexOf(op);
+            if (at > 0) {
+                int column = reader.getSchema().indexOf(expression.substring(0, at).trim());
+                double value = Double.parseDouble(expression.substring(at + op.length()).trim());
+                filters.add(new Filter(column, op, value));
+                return this;
+            }
+        }
+        throw new IllegalArgumentException("Bad filter: " + expression);
+    }
+
+    public DatasetQuery groupBy(String spec) {
+        String[] parts = spec.split(":");
+        double width = parts.length > 1 ? Double.parseDouble(parts[1]) : 0;
+        groups.add(new GroupBy(reader.getSchema().indexOf(parts[0]), width));
+        return this;
+    }
+
+    public DatasetQuery aggregate(String spec) {
+        String[] parts = spec.split(":");
+        String function = parts[0].toLowerCase(Locale.ROOT);
+        if (function.equals("count")) {
+            aggregates.add(new Aggregate(function, -1, "count"));
+        } else if (parts.length == 2 && List.of("sum", "avg", "min", "max").contains(function)) {
+            aggregates.add(new Aggregate(function, reader.getSchema().indexOf(parts[1]), function + "_" + parts[1]));
+        } else {
+            throw new IllegalArgumentException("Bad aggregate: " + spec);
+        }
+        return this;
+    }
+
+    /**
+     * Runs the query. Each result row is the group key values followed by one value
+     * per aggregate, sorted by key.
+     */
+    public List<double[]> run() {
+        if (aggregates.isEmpty()) aggregate("count");
+        int[] projection = IntStream.concat(IntStream.concat(
+                        filters.stream().mapToInt(Filter::column),
+                        groups.stream().mapToInt(GroupBy::column)),
+                aggregates.stream().mapToInt(Aggregate::column).filter(c -> c >= 0))
+                .distinct().toArray();
+
+        Map<Key, double[]> merged = IntStream.range(0, reader.getChunkCount())
+                .parallel()
+                .filter(this::mayMatch)
+                .mapToObj(chunk -> scan(chunk, projection))
+                .reduce(this::merge)
+                .orElseGet(HashMap::new);
+
+        List<double[]> rows = new ArrayList<>();
+        merged.forEach((key, acc) -> {
+            double[] row = Arrays.copyOf(key.parts(), groups.size() + aggregates.size());
+            for (int a = 0; a < aggregates.size(); a++) {
+                double v = acc[a + 1];
+                row[groups.size() + a] = switch (aggregates.get(a).function()) {
+                    case "count" -> acc[0];
+                    case "avg" -> v / acc[0];
+                    default -> v;
+                };
+            }
+            rows.add(row);
+        });
+        rows.sort((x, y) -> Arrays.compare(x, 0, groups.size(), y, 0, groups.size()));
+        return rows;
+    }
+
+    private boolean mayMatch(int chunk) {
+        for (Filter f : filters) {
+            if (!f.mayMatch(reader.getMin(chunk, f.column()), reader.getMax(chunk, f.column()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Map<Key, double[]> scan(int chunk, int[] projection) {
+        /*
+         * Accumulator layout per group: [rowCount, agg0, agg1, ...], where sum/avg keep a
+         * running sum and min/max keep the extreme seen so far.
+         */
+        DatasetReader.Chunk data;
+        try {
+            data = reader.readChunk(chunk, projection);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        scannedChunks.incrementAndGet();
+        Map<Key, double[]> table = new HashMap<>();
+        double[] keyParts = new double[groups.size()];
+        rows:
+        for (int row = 0; row < data.rows(); row++) {
+            for (Filter f : filters) {
+                if (!f.test(data.value(f.column(), row))) continue rows;
+            }
+            for (int g = 0; g < keyParts.length; g++) {
+                keyParts[g] = groups.get(g).key(data.value(groups.get(g).column(), row));
+            }
+            double[] acc = table.computeIfAbsent(new Key(keyParts.clone()), k -> newAccumulator());
+            acc[0]++;
+            for (int a = 0; a < aggregates.size(); a++) {
+                Aggregate agg = aggregates.get(a);
+                if (agg.column() < 0) continue;
+                double v = data.value(agg.column(), row);
+                acc[a + 1] = switch (agg.function()) {
+                    case "min" -> Math.min(acc[a + 1], v);
+                    case "max" -> Math.max(acc[a + 1], v);
+                    default -> acc[a + 1] + v;
+                };
+            }
+        }
+        return table;
+    }
+
+    private double[] newAccumulator() {
+        double[] acc = new double[aggregates.size() + 1];
+        for (int a = 0; a < aggregates.size(); a++) {
+            switch (aggregates.get(a).function()) {
+                case "min" -> acc[a + 1] = Double.POSITIVE_INFINITY;
+                case "max" -> acc[a + 1] = Double.NEGATIVE_INFINITY;
+                default -> { }
+            }
+        }
+        return acc;
+    }
+
+    private Map<Key, double[]> merge(Map<Key, double[]> into, Map<Key, double[]> from) {
+        Map<Key, double[]> target = into.size() >= from.size() ? into : from;
+        Map<Key, double[]> source = target == into ? from : into;
+        source.forEach((key, acc) -> target.merge(key, acc, (x, y) -> {
+            x[0] += y[0];
+            for (int a = 0; a < aggregates.size(); a++) {
+                x[a + 1] = switch (aggregates.get(a).function()) {
+                    case "min" -> Math.min(x[a + 1], y[a + 1]);
+                    case "max" -> Math.max(x[a + 1], y[a + 1]);
+                    default -> x[a + 1] + y[a + 1];
+                };
+            }
+            return x;
+        }));
+        return target;
+    }
+
+    public int getScannedChunks() {
+        return scannedChunks.get();
+    }
+
+    public void print(List<double[]> rows, PrintStream out) {
+        List<String> header = new ArrayList<>();
+        for (GroupBy g : groups) header.add(reader.getSchema().names().get(g.column()));
+        for (Aggregate a : aggregates) header.add(a.label());
+        out.println(String.join(",", header));
+        StringBuilder sb = new StringBuilder();
+        for (double[] row : rows) {
+            sb.setLength(0);
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) sb.append(',');
+                double v = row[i];
+                sb.append(v == Math.rint(v) && Math.abs(v) < 1e15
+                        ? Long.toString((long) v)
+                        : String.format(Locale.ROOT, "%.3f", v));
+            }
+            out.println(sb);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: DatasetQuery <file> [--where col<op>value]... "
+                    + "[--group-by col[:width]]... [--agg count|sum:col|avg:col|min:col|max:col]...");
+            System.exit(2);
+        }
+        try (DatasetReader reader = new DatasetReader(Path.of(args[0]))) {
+            DatasetQuery query = new DatasetQuery(reader);
+            for (int i = 1; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : "";
+                switch (args[i]) {
+                    case "--where" -> query.where(value);
+                    case "--group-by" -> query.groupBy(value);
+                    case "--agg" -> query.aggregate(value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+                i++;
+            }
+            long start = System.nanoTime();
+            List<double[]> rows = query.run();
+            query.print(rows, System.out);
+            System.err.printf(Locale.ROOT, "%d rows in %d chunks, scanned %d chunks in %.1f ms%n",
+                    reader.getRowCount(), reader.getChunkCount(), query.getScannedChunks(),
+                    (System.nanoTime() - start) / 1e6);
+        }
+    }
+}
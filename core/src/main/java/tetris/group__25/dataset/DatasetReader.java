@@ -0,0 +1,208 @@
+package tetris.group__25.dataset;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads files written by {@link DatasetWriter}. Only the footer is read eagerly; each chunk
+ * is memory-mapped on demand and only the requested columns are inflated, so a scan over
+ * a large file never holds more than a chunk's worth of projected columns per thread.
+ * Safe to use from several threads at once.
+ */
+public class DatasetReader implements AutoCloseable {
+    private final FileChannel channel;
+    private final Schema schema;
+    private final long[] chunkOffsets;
+    private final long[] chunkEnds;
+    private final int[] chunkRows;
+    private final double[][] chunkStats; // per chunk: min/max pairs per column
+    private final long totalRows;
+
+    public DatasetReader(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ByteBuffer header = read(0, (int) Math.min(size, 64 * 1024));
+            if (size < 12 || header.getInt() != DatasetWriter.MAGIC || header.getInt() != DatasetWriter.VERSION) {
+                throw new IOException("Not a dataset file or unsupported version: " + file);
+            }
+            int columns = header.getInt();
+            List<String> names = new ArrayList<>();
+            List<ColumnType> types = new ArrayList<>();
+            for (int c = 0; c < columns; c++) {
+                byte[] name = new byte[header.getShort() & 0xFFFF];
+                header.get(name);
+                names.add(new String(name, StandardCharsets.UTF_8));
+                types.add(ColumnType.fromTag(header.get()));
+            }
+            schema = new Schema(names, types);
+
+            ByteBuffer trailer = read(size - 12, 12);
+            long footerOffset = trailer.getLong();
+            List<long[]> chunks = new ArrayList<>(); // offset, end, rows
+            List<double[]> stats = new ArrayList<>();
+            if (trailer.getInt() == DatasetWriter.MAGIC && footerOffset >= header.position() && footerOffset < size) {
+                ByteBuffer footer = read(footerOffset, (int) (size - 12 - footerOffset));
+                int count = footer.getInt();
+                for (int i = 0; i < count; i++) {
+                    long offset = footer.getLong();
+                    int rows = footer.getInt();
+                    double[] minMax = new double[columns * 2];
+                    for (int m = 0; m < columns * 2; m++) minMax[m] = footer.getDouble();
+                    if (i > 0) chunks.get(i - 1)[1] = offset;
+                    chunks.add(new long[]{offset, footerOffset, rows});
+                    stats.add(minMax);
+                }
+            } else {
+                // No footer: the writer never finished (a crash or a killed process).
+                // Keep every complete chunk after the header and drop the torn tail.
+                scanChunks(header.position(), size, chunks, stats);
+            }
+            chunkOffsets = new long[chunks.size()];
+            chunkEnds = new long[chunks.size()];
+            chunkRows = new int[chunks.size()];
+            chunkStats = stats.toArray(new double[0][]);
+            long rows = 0;
+            for (int i = 0; i < chunks.size(); i++) {
+                chunkOffsets[i] = chunks.get(i)[0];
+                chunkEnds[i] = chunks.get(i)[1];
+                chunkRows[i] = (int) chunks.get(i)[2];
+                rows += chunkRows[i];
+            }
+            totalRows = rows;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void scanChunks(long position, long size, List<long[]> chunks, List<double[]> stats) throws IOException {
+        /*
+         * Walk the chunks from the header on by their length fields. Without a footer
+         * there are no min/max statistics, so every recovered chunk gets an unbounded
+         * range and is never skipped by a query.
+         */
+        double[] unbounded = new double[schema.size() * 2];
+        for (int c = 0; c < schema.size(); c++) {
+            unbounded[2 * c] = Double.NEGATIVE_INFINITY;
+            unbounded[2 * c + 1] = Double.POSITIVE_INFINITY;
+        }
+        while (position + 4 <= size) {
+            int rows = read(position, 4).getInt();
+            long end = position + 4;
+            boolean complete = rows > 0;
+            for (int c = 0; c < schema.size() && complete; c++) {
+                if (end + 8 > size) {
+                    complete = false;
+                    break;
+                }
+                ByteBuffer lengths = read(end, 8);
+                int rawLength = lengths.getInt();
+                int compressedLength = lengths.getInt();
+                end += 8 + compressedLength;
+                complete = rawLength == rows * schema.type(c).width() && compressedLength >= 0 && end <= size;
+            }
+            if (!complete) return;
+            chunks.add(new long[]{position, end, rows});
+            stats.add(unbounded);
+            position = end;
+        }
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(length);
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, position + buf.position()) < 0) break;
+        }
+        return buf.flip();
+    }
+
+    public Schema getSchema() { return schema; }
+    public int getChunkCount() { return chunkRows.length; }
+    public int getChunkRows(int chunk) { return chunkRows[chunk]; }
+    public long getRowCount() { return totalRows; }
+    public double getMin(int chunk, int column) { return chunkStats[chunk][2 * column]; }
+    public double getMax(int chunk, int column) { return chunkStats[chunk][2 * column + 1]; }
+
+    /** Maps one chunk and inflates the given columns; the other columns stay null. */
+    public Chunk readChunk(int chunk, int... columns) throws IOException {
+        boolean[] wanted = new boolean[schema.size()];
+        for (int c : columns) wanted[c] = true;
+
+        MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY,
+                chunkOffsets[chunk], chunkEnds[chunk] - chunkOffsets[chunk]);
+        int rows = map.getInt();
+        Object[] data = new Object[schema.size()];
+        Inflater inflater = new Inflater();
+        try {
+            for (int c = 0; c < schema.size(); c++) {
+                int rawLength = map.getInt();
+                int compressedLength = map.getInt();
+                if (!wanted[c]) {
+                    map.position(map.position() + compressedLength);
+                    continue;
+                }
+                ByteBuffer compressed = map.slice(map.position(), compressedLength);
+                map.position(map.position() + compressedLength);
+                ByteBuffer raw = ByteBuffer.allocate(rawLength).order(ByteOrder.LITTLE_ENDIAN);
+                inflater.reset();
+                inflater.setInput(compressed);
+                while (!inflater.finished() && raw.hasRemaining()) {
+                    if (inflater.inflate(raw) == 0 && inflater.needsInput()) break;
+                }
+                raw.flip();
+                data[c] = switch (schema.type(c)) {
+                    case INT -> { int[] a = new int[rows]; raw.asIntBuffer().get(a); yield a; }
+                    case LONG -> { long[] a = new long[rows]; raw.asLongBuffer().get(a); yield a; }
+                    case FLOAT -> { float[] a = new float[rows]; raw.asFloatBuffer().get(a); yield a; }
+                };
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt column data in chunk " + chunk, e);
+        } finally {
+            inflater.end();
+        }
+        return new Chunk(schema, rows, data);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /** Decoded columns of one chunk. */
+    public static final class Chunk {
+        private final Schema schema;
+        private final int rows;
+        private final Object[] data;
+
+        Chunk(Schema schema, int rows, Object[] data) {
+            this.schema = schema;
+            this.rows = rows;
+            this.data = data;
+        }
+
+        public int rows() { return rows; }
+        public int[] ints(int column) { return (int[]) data[column]; }
+        public long[] longs(int column) { return (long[]) data[column]; }
+        public float[] floats(int column) { return (float[]) data[column]; }
+
+        public double value(int column, int row) {
+            return switch (schema.type(column)) {
+                case INT -> ((int[]) data[column])[row];
+                case LONG -> ((long[]) data[column])[row];
+                case FLOAT -> ((float[]) data[column])[row];
+            };
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package tetris.group__25.dataset;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+
+/**
+ * Writes rows into a chunked, column-oriented binary file.
+ *
+ * <pre>
+ * header:  magic "NTDS", version, column count, (name, type tag) per column
+ * chunk:   row count, then per column: raw length, compressed length, deflated values
+ * footer:  chunk count, per chunk: offset, row count, (min, max) per column;
+ *          footer offset, magic
+ * </pre>
+ *
+ * Rows are buffered in primitive arrays until a chunk is full, so memory use is bounded
+ * by the chunk size. Finished chunks go to a sink, which may be a file or any byte consumer.
+ */
+public class DatasetWriter implements AutoCloseable {
+    static final int MAGIC = 0x4E544453; // "NTDS"
+    static final int VERSION = 1;
+    public static final int DEFAULT_ROWS_PER_CHUNK = 64 * 1024;
+
+    private final Schema schema;
+    private final Consumer<byte[]> sink;
+    private final AutoCloseable onClose;
+    private final int rowsPerChunk;
+    private final Object[] buffers; // int[], long[] or float[] per column
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final List<long[]> chunkIndex = new ArrayList<>();   // offset, rows
+    private final List<double[]> chunkStats = new ArrayList<>(); // min/max pairs
+    private long position;
+    private int rows;
+    private boolean closed;
+
+    public DatasetWriter(Schema schema, Consumer<byte[]> sink) {
+        this(schema, sink, DEFAULT_ROWS_PER_CHUNK, null);
+    }
+
+    public DatasetWriter(Schema schema, Consumer<byte[]> sink, int rowsPerChunk) {
+        this(schema, sink, rowsPerChunk, null);
+    }
+
+    private DatasetWriter(Schema schema, Consumer<byte[]> sink, int rowsPerChunk, AutoCloseable onClose) {
+        this.schema = schema;
+        this.sink = sink;
+        this.rowsPerChunk = rowsPerChunk;
+        this.onClose = onClose;
+        this.buffers = new Object[schema.size()];
+        for (int c = 0; c < schema.size(); c++) {
+            buffers[c] = switch (schema.type(c)) {
+                case INT -> new int[rowsPerChunk];
+                case LONG -> new long[rowsPerChunk];
+                case FLOAT -> new float[rowsPerChunk];
+            };
+        }
+        writeHeader();
+    }
+
+    public static DatasetWriter toFile(Schema schema, Path file) throws IOException {
+        return toFile(schema, file, DEFAULT_ROWS_PER_CHUNK);
+    }
+
+    public static DatasetWriter toFile(Schema schema, Path file, int rowsPerChunk) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        Consumer<byte[]> sink = bytes -> {
+            try {
+                ByteBuffer buf = ByteBuffer.wrap(bytes);
+                while (buf.hasRemaining()) ch.write(buf);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        return new DatasetWriter(schema, sink, rowsPerChunk, ch);
+    }
+
+    public static DatasetWriter toFile(Schema schema, Path file, int rowsPerChunk, Executor writes) throws IOException {
+        /*
+         * Like toFile, but the caller only encodes: every chunk is written on the executor,
+         * in order, and close() waits for the writes before closing the file. A failed write
+         * is reported by close().
+         */
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        CompletableFuture<?>[] tail = {CompletableFuture.completedFuture(null)};
+        Consumer<byte[]> sink = bytes -> tail[0] = tail[0].thenRunAsync(() -> {
+            try {
+                ByteBuffer buf = ByteBuffer.wrap(bytes);
+                while (buf.hasRemaining()) ch.write(buf);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, writes);
+        return new DatasetWriter(schema, sink, rowsPerChunk, () -> {
+            try {
+                tail[0].join();
+            } finally {
+                ch.close();
+            }
+        });
+    }
+
+    public static byte[] toBytes(Schema schema, Consumer<DatasetWriter> rows) {
+        // Build a small dataset entirely in memory, e.g. for the write-behind store.
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DatasetWriter writer = new DatasetWriter(schema, out::writeBytes)) {
+            rows.accept(writer);
+        }
+        return out.toByteArray();
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    public DatasetWriter setInt(int column, int value) {
+        ((int[]) buffers[column])[rows] = value;
+        return this;
+    }
+
+    public DatasetWriter setLong(int column, long value) {
+        ((long[]) buffers[column])[rows] = value;
+        return this;
+    }
+
+    public DatasetWriter setFloat(int column, float value) {
+        ((float[]) buffers[column])[rows] = value;
+        return this;
+    }
+
+    public void endRow() {
+        if (++rows == rowsPerChunk) {
+            flushChunk();
+        }
+    }
+
+    private void writeHeader() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(schema.size());
+            for (int c = 0; c < schema.size(); c++) {
+                // Standard UTF-8 with a length short, not writeUTF's modified UTF-8
+                byte[] name = schema.names().get(c).getBytes(StandardCharsets.UTF_8);
+                if (name.length > 0xFFFF) throw new IllegalArgumentException("Column name too long: " + schema.names().get(c));
+                out.writeShort(name.length);
+                out.write(name);
+                out.writeByte(schema.type(c).tag());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        emit(bytes.toByteArray());
+    }
+
+    private void flushChunk() {
+        /*
+         * Encode each buffered column as little-endian values, deflate it, and record
+         * the chunk's offset and per-column min/max for the footer.
+         */
+        if (rows == 0) return;
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+        double[] stats = new double[schema.size() * 2];
+        chunk.writeBytes(ByteBuffer.allocate(4).putInt(rows).array());
+        byte[] compressed = new byte[64 * 1024];
+        for (int c = 0; c < schema.size(); c++) {
+            ByteBuffer raw = ByteBuffer.allocate(rows * schema.type(c).width()).order(ByteOrder.LITTLE_ENDIAN);
+            double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+            for (int r = 0; r < rows; r++) {
+                double v;
+                switch (schema.type(c)) {
+                    case INT -> { int x = ((int[]) buffers[c])[r]; raw.putInt(x); v = x; }
+                    case LONG -> { long x = ((long[]) buffers[c])[r]; raw.putLong(x); v = x; }
+                    default -> { float x = ((float[]) buffers[c])[r]; raw.putFloat(x); v = x; }
+                }
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+            stats[2 * c] = min;
+            stats[2 * c + 1] = max;
+
+            deflater.reset();
+            deflater.setInput(raw.array());
+            deflater.finish();
+            ByteArrayOutputStream column = new ByteArrayOutputStream();
+            while (!deflater.finished()) {
+                int n = deflater.deflate(compressed);
+                column.write(compressed, 0, n);
+            }
+            chunk.writeBytes(ByteBuffer.allocate(8).putInt(raw.capacity()).putInt(column.size()).array());
+            chunk.writeBytes(column.toByteArray());
+        }
+        chunkIndex.add(new long[]{position, rows});
+        chunkStats.add(stats);
+        emit(chunk.toByteArray());
+        rows = 0;
+    }
+
+    private void emit(byte[] bytes) {
+        sink.accept(bytes);
+        position += bytes.length;
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        flushChunk();
+        long footerOffset = position;
+        ByteBuffer footer = ByteBuffer.allocate(4 + chunkIndex.size() * (12 + 16 * schema.size()) + 12);
+        footer.putInt(chunkIndex.size());
+        for (int i = 0; i < chunkIndex.size(); i++) {
+            footer.putLong(chunkIndex.get(i)[0]).putInt((int) chunkIndex.get(i)[1]);
+            for (double stat : chunkStats.get(i)) footer.putDouble(stat);
+        }
+        footer.putLong(footerOffset).putInt(MAGIC);
+        emit(footer.array());
+        deflater.end();
+        if (onClose != null) {
+            try {
+                onClose.close();
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not close dataset sink", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package tetris.group__25.dataset;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ordered column names and types of a dataset file.
+ */
+public record Schema(List<String> names, List<ColumnType> types) {
+    public Schema {
+        if (names.size() != types.size()) {
+            throw new IllegalArgumentException("Every column needs exactly one type");
+        }
+        names = List.copyOf(names);
+        types = List.copyOf(types);
+    }
+
+    public static Schema of(Object... nameTypePairs) {
+        // Convenience: Schema.of("score", ColumnType.INT, "seed", ColumnType.LONG, ...)
+        String[] names = new String[nameTypePairs.length / 2];
+        ColumnType[] types = new ColumnType[names.length];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = (String) nameTypePairs[2 * i];
+            types[i] = (ColumnType) nameTypePairs[2 * i + 1];
+        }
+        return new Schema(Arrays.asList(names), Arrays.asList(types));
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public ColumnType type(int column) {
+        return types.get(column);
+    }
+
+    public int indexOf(String name) {
+        int index = names.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("No such column: " + name + " (have " + names + ")");
+        }
+        return index;
+    }
+}
@@ -0,0 +1,859 @@
+package tetris.group__25.engine;
+
+import tetris.group__25.scenario.Scenario;
+import tetris.group__25.score.SpinType;
+import tetris.group__25.tetromino.Piece;
+import tetris.group__25.tetromino.PieceType;
+import tetris.group__25.tetromino.Tetromino;
+import tetris.group__25.tetromino.TetrominoFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Represents the Tetris game board and manages piece movement and state.
+ */
+public class Board {
+    /*
+     * The game board is a 20x10 grid represented as a 2D array.
+     */
+    public static final int GARBAGE = 8; // colour code of injected garbage cells
+
+    private final int[][] grid = new int[20][10];
+    private final int[][] spareRows = new int[20][]; // scratch for row rotation
+    // Occupancy per row, offset by WALL bits and padded with set wall bits on both sides,
+    // so a collision test is one AND per piece row with no bounds checks.
+    private static final int WALL = 4;
+    private static final int EMPTY_ROW = ~(((1 << 10) - 1) << WALL);
+    private final int[] rowBits = new int[20];
+    // Occupancy per column: bit y set for a filled cell in row y, and the floor as bit 20,
+    // so the first obstacle below any row is one trailing-zero count.
+    private static final int FLOOR = 1 << 20;
+    private static final int ROWS_MASK = FLOOR - 1;
+    private final int[] columnBits = new int[10];
+    private int current = Piece.NONE; // packed, see Piece
+    private PieceType holdPiece;
+    private final ArrayDeque<PieceType> nextPieces = new ArrayDeque<>();
+    private long seed = ThreadLocalRandom.current().nextLong();
+    private final TetrominoFactory factory = new TetrominoFactory(seed);
+    private boolean canHold = true;
+    private int lastLinesCleared;
+    private List<Integer> lastClearedLines = new ArrayList<>();
+    private boolean gameOver = false;
+    private boolean pendingLineClear = false;
+    private BoardListener listener = BoardListener.NONE;
+    private long lockCount;
+    private int lastLocked = Piece.NONE;
+    private boolean lastMoveRotation;
+    private int lastKick;
+    private SpinType lastSpin = SpinType.NONE;
+    // Undo history, off until setHistory: one record per piece in fixed-size rings. A record
+    // holds the piece's entry state and queue draws (historyState, see beginRecord and
+    // recordDraw), where it locked, the caller's state at the lock and the cleared rows.
+    private int historyCapacity;
+    private long[] historyState;
+    private int[] historyLocked;   // packed Piece, Piece.NONE until the piece locks
+    private long[] historyExtra;
+    private long[] historyRows;    // four per record: colour codes of a cleared row, 4 bits a cell
+    private int historyOpen = -1;  // record of the current piece, -1 when nothing can be undone
+    private int historyDepth;      // finished records behind the open one
+    private LongSupplier saveExtra = () -> 0;
+    private LongConsumer restoreExtra = state -> { };
+
+    public Board() {
+        // Initialize the board with empty cells (0)
+        Arrays.fill(rowBits, EMPTY_ROW);
+        Arrays.fill(columnBits, FLOOR);
+        spawnNewPiece();
+        for (int i = 0; i < 3; i++) {
+            nextPieces.add(factory.nextPiece());
+        }
+    }
+
+    public void setListener(BoardListener listener) {
+        this.listener = listener != null ? listener : BoardListener.NONE;
+    }
+
+    public void reset() {
+        // Reset the board to its initial state with a fresh piece sequence
+        reset(ThreadLocalRandom.current().nextLong());
+    }
+
+    public void reset(long seed) {
+        // Reset the board, seeding the piece generator so the game can be reproduced
+        this.seed = seed;
+        factory.reseed(seed);
+        for (int y = 0; y < 20; y++) {
+            for (int x = 0; x < 10; x++) {
+                grid[y][x] = 0;
+            }
+        }
+        Arrays.fill(rowBits, EMPTY_ROW);
+        Arrays.fill(columnBits, FLOOR);
+        restart(null);
+    }
+
+    public void load(Scenario scenario) {
+        /*
+         * Start from a prepared position instead of an empty board. The grid is copied from
+         * the scenario's precompiled rows and masks; its pieces are dealt first, followed
+         * by the bag sequence of its seed.
+         */
+        this.seed = scenario.getSeed();
+        factory.reseed(seed);
+        for (int i = scenario.getPieceCount() - 1; i >= 0; i--) {
+            factory.pushBack(scenario.getPiece(i));
+        }
+        for (int y = 0; y < 20; y++) {
+            scenario.copyRow(y, grid[y]);
+            rowBits[y] = EMPTY_ROW | scenario.getRowMask(y) << WALL;
+        }
+        for (int x = 0; x < 10; x++) {
+            columnBits[x] = FLOOR | scenario.getColumnMask(x);
+        }
+        restart(scenario.getHold());
+    }
+
+    private void restart(PieceType hold) {
+        // Deal a fresh queue and the first piece onto the grid as it now stands
+        lastSpin = SpinType.NONE;
+        lastLocked = Piece.NONE;
+        nextPieces.clear();
+        for (int i = 0; i < 3; i++) {
+            nextPieces.add(factory.nextPiece());
+        }
+        holdPiece = hold;
+        canHold = true;
+        gameOver = false;
+        pendingLineClear = false;
+        listener.onBoardChanged();
+        spawnNewPiece();
+        clearHistory();
+        if (!gameOver) beginRecord();
+    }
+
+    public boolean moveLeft() {
+        /*
+         * Move the current piece left if possible, returning whether it moved.
+         */
+        if (current != Piece.NONE && fits(Piece.x(current) - 1, Piece.y(current), Piece.rotation(current))) {
+            current = Piece.withX(current, Piece.x(current) - 1);
+            lastMoveRotation = false;
+            listener.onPieceMoved(current);
+            return true;
+        }
+        return false;
+    }
+
+    public boolean moveRight() {
+        /*
+         * Move the current piece right if possible, returning whether it moved.
+         */
+        if (current != Piece.NONE && fits(Piece.x(current) + 1, Piece.y(current), Piece.rotation(current))) {
+            current = Piece.withX(current, Piece.x(current) + 1);
+            lastMoveRotation = false;
+            listener.onPieceMoved(current);
+            return true;
+        }
+        return false;
+    }
+
+    public boolean moveDown() {
+        /*
+         * Move the current piece down if possible or lock it if it can't move down anymore.
+         * Returns true only if the piece moved down. Locking this way has no lock delay;
+         * PieceLifecycle drives the timed version through fall(), lock() and spawn().
+         */
+        if (fall()) return true;
+        if (current != Piece.NONE && !pendingLineClear) {
+            lock();
+            if (!pendingLineClear) spawn();
+        }
+        return false;
+    }
+
+    public boolean fall() {
+        /*
+         * Move the current piece down one row if it fits; never locks.
+         */
+        return fall(1) == 1;
+    }
+
+    public int fall(int rows) {
+        /*
+         * Move the current piece down by up to rows in one step, stopping on whatever is
+         * below it; never locks. Returns the number of rows it moved.
+         */
+        if (current == Piece.NONE || pendingLineClear || rows <= 0) return 0;
+        int moved = Math.min(rows, dropDistance());
+        if (moved > 0) {
+            current = Piece.withY(current, Piece.y(current) + moved);
+            lastMoveRotation = false;
+            listener.onPieceMoved(current);
+        }
+        return moved;
+    }
+
+    public int dropDistance() {
+        /*
+         * How many rows the current piece can fall, from the column masks: for each
+         * column the piece covers, the gap between its lowest cell and the first filled
+         * cell (or the floor) below it. Constant time whatever the height of the drop.
+         */
+        if (current == Piece.NONE) return 0;
+        int x = Piece.x(current);
+        int y = Piece.y(current);
+        int[] bottoms = Piece.type(current).getColumnBottoms(Piece.rotation(current));
+        int distance = 20;
+        for (int c = 0; c < bottoms.length; c++) {
+            if (bottoms[c] < 0) continue;
+            int below = y + bottoms[c] + 1; // first row under this column of the piece
+            int bits = columnBits[x + c];
+            int obstacle = below <= 0 ? Integer.numberOfTrailingZeros(bits)
+                    : below + Integer.numberOfTrailingZeros(bits >>> below);
+            distance = Math.min(distance, obstacle - below);
+        }
+        return distance;
+    }
+
+    public boolean isFalling() {
+        // Whether the current piece has room to move down
+        return dropDistance() > 0;
+    }
+
+    public boolean rotate() {
+        return rotate(true);
+    }
+
+    public boolean rotateCounterClockwise() {
+        return rotate(false);
+    }
+
+    private boolean rotate(boolean clockwise) {
+        /*
+         * Rotate the current piece, trying the SRS kick offsets for this piece and
+         * transition in order. Remembers which kick was used for spin detection.
+         */
+        if (current == Piece.NONE || pendingLineClear) return false;
+        int from = Piece.rotation(current);
+        int to = (from + (clockwise ? 1 : 3)) & 3;
+        int[] kicks = SrsKicks.forPiece(Piece.code(current), from, clockwise ? 0 : 1);
+        for (int k = 0; k < kicks.length; k += 2) {
+            int x = Piece.x(current) + kicks[k];
+            int y = Piece.y(current) + kicks[k + 1];
+            if (fits(x, y, to)) {
+                current = Piece.of(Piece.type(current), to, x, y);
+                lastMoveRotation = true;
+                lastKick = k / 2;
+                listener.onPieceMoved(current);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void hardDrop() {
+        /*
+         * Move the current piece down to the lowest possible position and lock it.
+         */
+        if (pendingLineClear || current == Piece.NONE) return; // Don't drop during the line clear delay
+        dropToGround();
+        lock();
+        if (!pendingLineClear) spawn();
+    }
+
+    public int dropToGround() {
+        /*
+         * Move the current piece straight down as far as it goes without locking it.
+         * Returns the number of rows it moved.
+         */
+        if (pendingLineClear || current == Piece.NONE) return 0;
+        int rows = dropDistance();
+        if (rows > 0) {
+            lastMoveRotation = false; // dropped, not spun in
+            current = Piece.withY(current, Piece.y(current) + rows);
+            listener.onPieceMoved(current);
+        }
+        return rows;
+    }
+
+    public int lock() {
+        /*
+         * Lock the current piece where it is and mark any full rows. The board is left
+         * without a piece until spawn(); full rows stay until the clear is completed.
+         * Returns the number of full rows.
+         */
+        if (pendingLineClear || current == Piece.NONE) return 0;
+        if (historyOpen >= 0) {
+            historyLocked[historyOpen] = current;
+            historyExtra[historyOpen] = saveExtra.getAsLong();
+        }
+        lockPiece();
+        current = Piece.NONE;
+        checkForLineClear();
+        if (historyOpen >= 0 && lastLinesCleared > 0) {
+            int mask = 0;
+            int slot = historyOpen * 4;
+            for (int row : lastClearedLines) {
+                mask |= 1 << row;
+                long cells = 0;
+                for (int x = 0; x < 10; x++) {
+                    cells |= (long) grid[row][x] << (4 * x);
+                }
+                historyRows[slot++] = cells;
+            }
+            historyState[historyOpen] |= (long) mask << 20;
+        }
+        return lastLinesCleared;
+    }
+
+    public boolean spawn() {
+        /*
+         * Bring in the next piece. Returns false if it does not fit, which ends the game.
+         */
+        if (gameOver) return false;
+        spawnNewPiece();
+        canHold = true;
+        if (!gameOver) beginRecord();
+        return !gameOver;
+    }
+
+    public boolean hold() {
+        /*
+         * Hold the current piece, swapping it with the hold piece if possible.
+         */
+        if (current == Piece.NONE || !canHold) return false;
+        PieceType temp = holdPiece;
+        holdPiece = Piece.type(current);
+        if (temp == null) {
+            spawnNewPiece();
+        } else {
+            current = Piece.of(temp, 0, 3, 0);
+            lastMoveRotation = false;
+        }
+        canHold = false;
+        listener.onHold(current, holdPiece.getCode());
+        return true;
+    }
+
+    private void spawnNewPiece() {
+        /*
+         * Spawn a new piece from the queue of next pieces or generate new pieces if the queue is empty.
+         */
+        if (nextPieces.isEmpty()) {
+            for (int i = 0; i < 3; i++) {
+                nextPieces.add(factory.nextPiece());
+            }
+        }
+        PieceType next = nextPieces.poll();
+        recordDraw(next);
+        current = Piece.of(next, 0, 3, 0);
+        lastMoveRotation = false;
+        if (!fits(3, 0, 0)) {
+            current = Piece.NONE;
+            gameOver = true;
+            listener.onGameOver();
+        } else {
+            listener.onPieceSpawned(current);
+        }
+        nextPieces.add(factory.nextPiece());
+    }
+
+    private boolean fits(int x, int y, int rotationState) {
+        /*
+         * Check if the piece fits at (x, y) in the given rotation without touching the
+         * walls, the floor or locked cells. Rows above the board are open.
+         */
+        int[] masks = Piece.type(current).getRowMasks(rotationState);
+        int shift = x + WALL;
+        if (shift < 0) return false;
+        for (int r = 0; r < masks.length; r++) {
+            if (masks[r] == 0) continue;
+            int gridY = y + r;
+            if (gridY >= 20) return false;
+            int row = gridY < 0 ? EMPTY_ROW : rowBits[gridY];
+            if ((row & (masks[r] << shift)) != 0) return false;
+        }
+        return true;
+    }
+
+    private boolean occupied(int x, int y) {
+        // Walls and floor count as occupied, the space above the board does not
+        if (x < 0 || x >= 10 || y >= 20) return true;
+        return y >= 0 && (rowBits[y] & (1 << (x + WALL))) != 0;
+    }
+
+    private SpinType detectSpin() {
+        /*
+         * Spin check for the piece about to lock; constant time. A T whose last move was a
+         * rotation is a T-spin if three of the four corners around its centre are occupied:
+         * a full one when both corners in front of the flat side are filled (or the last
+         * SRS kick was used), otherwise a mini. Other pieces count as an all-spin when they
+         * were rotated into a spot they cannot leave by moving left, right or up.
+         */
+        if (!lastMoveRotation) return SpinType.NONE;
+        int x = Piece.x(current);
+        int y = Piece.y(current);
+        int state = Piece.rotation(current);
+        if (Piece.type(current) == PieceType.T) {
+            // Corner bits: 0 top-left, 1 top-right, 2 bottom-right, 3 bottom-left
+            int corners = (occupied(x, y) ? 1 : 0)
+                    | (occupied(x + 2, y) ? 2 : 0)
+                    | (occupied(x + 2, y + 2) ? 4 : 0)
+                    | (occupied(x, y + 2) ? 8 : 0);
+            if (Integer.bitCount(corners) < 3) return SpinType.NONE;
+            int front = T_FRONT_CORNERS[state];
+            return (corners & front) == front || lastKick == 4 ? SpinType.FULL : SpinType.MINI;
+        }
+        boolean stuck = !fits(x - 1, y, state) && !fits(x + 1, y, state) && !fits(x, y - 1, state);
+        return stuck ? SpinType.ALL : SpinType.NONE;
+    }
+
+    // Corners on the pointing side of the T for each rotation state (see detectSpin)
+    private static final int[] T_FRONT_CORNERS = {0b0011, 0b0110, 0b1100, 0b1001};
+
+    private void lockPiece() {
+        /*
+         * Lock the current piece in place on the grid, marking its cells.
+         */
+        lockCount++;
+        lastLocked = current;
+        lastSpin = detectSpin();
+        int code = Piece.code(current);
+        int[][] shape = Piece.type(current).getShape(Piece.rotation(current));
+        for (int r = 0; r < shape.length; r++) {
+            for (int c = 0; c < shape[r].length; c++) {
+                if (shape[r][c] != 0) {
+                    int gridX = Piece.x(current) + c;
+                    int gridY = Piece.y(current) + r;
+                    if (gridY >= 0 && gridY < 20 && gridX >= 0 && gridX < 10) {
+                        grid[gridY][gridX] = shape[r][c];
+                        rowBits[gridY] |= 1 << (gridX + WALL);
+                        columnBits[gridX] |= 1 << gridY;
+                    }
+                }
+            }
+        }
+        listener.onPieceLocked(code, stackHeight());
+    }
+
+    private int stackHeight() {
+        // Height of the tallest column, counting cleared rows that have not collapsed yet
+        for (int y = 0; y < 20; y++) {
+            for (int x = 0; x < 10; x++) {
+                if (grid[y][x] != 0) return 20 - y;
+            }
+        }
+        return 0;
+    }
+
+    private void checkForLineClear() {
+        List<Integer> fullRows = new ArrayList<>();
+        for (int y = 0; y < 20; y++) {
+            boolean full = true;
+            for (int x = 0; x < 10; x++) {
+                if (grid[y][x] == 0) {
+                    full = false;
+                    break;
+                }
+            }
+            if (full) {
+                fullRows.add(y);
+            }
+        }
+
+        lastClearedLines = fullRows;
+        lastLinesCleared = fullRows.size();
+
+        if (!fullRows.isEmpty()) {
+            pendingLineClear = true;
+            int mask = 0;
+            for (int row : fullRows) mask |= 1 << row;
+            listener.onLinesCleared(fullRows.size(), mask);
+        }
+    }
+
+    public boolean addGarbage(int rows, int holeColumn) {
+        /*
+         * Push rows in from the bottom, each filled except for holeColumn. Rows are moved
+         * by reference: the arrays of the rows pushed off the top are reused for the new
+         * garbage, so the cost is a few pointer copies regardless of the stack contents.
+         * The current piece is nudged up if it now overlaps. Returns false if the stack
+         * topped out.
+         */
+        if (gameOver) return false;
+        int n = Math.min(rows, 20);
+        if (n <= 0) return true;
+        clearHistory(); // garbage is not recorded, so locks before it cannot be taken back
+        int hole = Math.floorMod(holeColumn, 10);
+
+        boolean toppedOut = false;
+        for (int y = 0; y < n; y++) {
+            toppedOut |= rowBits[y] != EMPTY_ROW;
+        }
+        System.arraycopy(grid, 0, spareRows, 0, n);
+        System.arraycopy(grid, n, grid, 0, 20 - n);
+        System.arraycopy(spareRows, 0, grid, 20 - n, n);
+        System.arraycopy(rowBits, n, rowBits, 0, 20 - n);
+        for (int y = 20 - n; y < 20; y++) {
+            Arrays.fill(grid[y], GARBAGE);
+            grid[y][hole] = 0;
+            rowBits[y] = ~(1 << (hole + WALL));
+        }
+        int garbageBits = ROWS_MASK & ~(ROWS_MASK >>> n); // rows 20 - n to 19
+        for (int x = 0; x < 10; x++) {
+            columnBits[x] = (columnBits[x] & ROWS_MASK) >>> n | FLOOR | (x == hole ? 0 : garbageBits);
+        }
+        if (pendingLineClear) {
+            lastClearedLines.replaceAll(row -> row - n);
+        }
+
+        if (current != Piece.NONE && !toppedOut) {
+            int state = Piece.rotation(current);
+            int pushed = 0;
+            while (!fits(Piece.x(current), Piece.y(current), state) && pushed < n) {
+                current = Piece.withY(current, Piece.y(current) - 1);
+                pushed++;
+            }
+            toppedOut = !fits(Piece.x(current), Piece.y(current), state);
+        }
+        listener.onGarbageAdded(n);
+        if (toppedOut) {
+            current = Piece.NONE;
+            gameOver = true;
+            listener.onGameOver();
+            return false;
+        }
+        return true;
+    }
+
+    public boolean completeLineClear() {
+        /*
+         * Collapse the full rows left by the last lock and spawn the next piece.
+         * Returns false if there was nothing to clear.
+         */
+        if (!collapseClearedRows()) return false;
+        spawn();
+        return true;
+    }
+
+    public boolean collapseClearedRows() {
+        /*
+         * Remove the full rows left by the last lock and drop everything above them,
+         * without spawning. Returns false if there was nothing to clear.
+         */
+        if (!pendingLineClear) return false;
+
+        // Actually clear the lines
+        for (int row : lastClearedLines) {
+            for (int y = row; y > 0; y--) {
+                System.arraycopy(grid[y - 1], 0, grid[y], 0, 10);
+                rowBits[y] = rowBits[y - 1];
+            }
+            for (int x = 0; x < 10; x++) {
+                grid[0][x] = 0;
+            }
+            rowBits[0] = EMPTY_ROW;
+            // Rows above the cleared one move down a bit, rows below stay
+            int above = (1 << row) - 1;
+            for (int x = 0; x < 10; x++) {
+                int bits = columnBits[x];
+                columnBits[x] = (bits & ~above & ~(1 << row)) | (bits & above) << 1;
+            }
+        }
+
+        pendingLineClear = false;
+        listener.onBoardChanged();
+        return true;
+    }
+
+    public void setHistory(int pieces) {
+        setHistory(pieces, () -> 0, state -> { });
+    }
+
+    public void setHistory(int pieces, LongSupplier saveExtra, LongConsumer restoreExtra) {
+        /*
+         * Keep undo records for the last `pieces` locks (0 turns undo off). The rings are
+         * allocated once here, so memory stays the same however long the session runs.
+         * saveExtra is called at every lock and restoreExtra gets that value back when the
+         * lock is undone, so a caller can rewind its own state (e.g. the score) with it.
+         */
+        historyCapacity = pieces > 0 ? pieces + 1 : 0; // plus the record of the piece in play
+        historyState = new long[historyCapacity];
+        historyLocked = new int[historyCapacity];
+        historyExtra = new long[historyCapacity];
+        historyRows = new long[historyCapacity * 4];
+        this.saveExtra = saveExtra;
+        this.restoreExtra = restoreExtra;
+        clearHistory();
+        if (current != Piece.NONE) beginRecord();
+    }
+
+    private void clearHistory() {
+        historyOpen = -1;
+        historyDepth = 0;
+    }
+
+    private void beginRecord() {
+        /*
+         * Open the record of a piece entering play: bits 0-3 its colour code, 4-7 the hold
+         * piece (0 for none), bit 8 whether hold is allowed. Draws and the lock are added
+         * to it as they happen.
+         */
+        if (historyCapacity == 0) return;
+        if (historyOpen < 0) {
+            historyOpen = 0;
+        } else {
+            historyOpen = (historyOpen + 1) % historyCapacity;
+            historyDepth = Math.min(historyDepth + 1, historyCapacity - 1);
+        }
+        historyState[historyOpen] = Piece.code(current)
+                | (holdPiece != null ? holdPiece.getCode() << 4 : 0)
+                | (canHold ? 1 << 8 : 0);
+        historyLocked[historyOpen] = Piece.NONE;
+    }
+
+    private void recordDraw(PieceType drawn) {
+        // Bits 9-10 count the pieces taken from the queue for this record, 11-18 their codes
+        if (historyOpen < 0) return;
+        long state = historyState[historyOpen];
+        int draws = (int) (state >>> 9) & 3;
+        if (draws == 2) {
+            clearHistory(); // cannot happen: one spawn and at most one hold per piece
+            return;
+        }
+        historyState[historyOpen] = (state + (1 << 9)) | (long) drawn.getCode() << (11 + 4 * draws);
+    }
+
+    public boolean undo() {
+        /*
+         * Take back the last lock: the piece's cells and any rows it cleared are restored,
+         * the pieces dealt since go back to the queue, and it is in play again at the spawn
+         * position with the hold slot as it was. A piece in play that has not locked yet is
+         * returned to the queue first. The work is proportional to what the lock changed.
+         * Returns false if there is nothing to undo.
+         */
+        if (historyOpen < 0) return false;
+        if (historyLocked[historyOpen] == Piece.NONE) {
+            if (historyDepth == 0) return false;
+            revertDraws(historyOpen);
+            historyOpen = (historyOpen - 1 + historyCapacity) % historyCapacity;
+            historyDepth--;
+        }
+        int record = historyOpen;
+        revertDraws(record);
+        revertLock(record);
+        restoreEntry(record);
+        restoreExtra.accept(historyExtra[record]);
+        listener.onBoardChanged();
+        return true;
+    }
+
+    public boolean rewindTurn() {
+        /*
+         * Put the piece in play back as it entered: at the spawn position, with the hold
+         * slot and queue as they were before any hold this turn. Returns false if there is
+         * no unlocked piece on record.
+         */
+        if (historyOpen < 0 || historyLocked[historyOpen] != Piece.NONE) return false;
+        revertDraws(historyOpen);
+        restoreEntry(historyOpen);
+        listener.onBoardChanged();
+        return true;
+    }
+
+    private void restoreEntry(int record) {
+        long state = historyState[record];
+        current = Piece.of(PieceType.fromCode((int) state & 0xF), 0, 3, 0);
+        holdPiece = PieceType.fromCode((int) (state >>> 4) & 0xF);
+        canHold = (state & 1 << 8) != 0;
+        historyState[record] = state & 0x1FF;
+        historyLocked[record] = Piece.NONE;
+        lastMoveRotation = false;
+        gameOver = false;
+    }
+
+    public int getUndoDepth() {
+        // How many locks undo() can take back
+        if (historyOpen < 0) return 0;
+        return historyDepth + (historyLocked[historyOpen] != Piece.NONE ? 1 : 0);
+    }
+
+    private void revertDraws(int record) {
+        // Newest draw first: the piece goes back to the front of the queue and the piece
+        // that refilled the queue goes back to the factory
+        long state = historyState[record];
+        for (int d = (int) (state >>> 9) & 3; d > 0; d--) {
+            factory.pushBack(nextPieces.removeLast());
+            nextPieces.addFirst(PieceType.fromCode((int) (state >>> (11 + 4 * (d - 1))) & 0xF));
+        }
+    }
+
+    private void revertLock(int record) {
+        int piece = historyLocked[record];
+        int cleared = (int) (historyState[record] >>> 20) & ROWS_MASK;
+        if (pendingLineClear) {
+            pendingLineClear = false; // the full rows have not collapsed yet
+        } else if (cleared != 0) {
+            // Reinsert the cleared rows bottom first, the reverse of completeLineClear
+            for (int i = Integer.bitCount(cleared) - 1; i >= 0; i--) {
+                int row = nthSetBit(cleared, i);
+                long cells = historyRows[record * 4 + i];
+                int[] reused = grid[0];
+                System.arraycopy(grid, 1, grid, 0, row);
+                System.arraycopy(rowBits, 1, rowBits, 0, row);
+                grid[row] = reused;
+                for (int x = 0; x < 10; x++) {
+                    reused[x] = (int) (cells >>> (4 * x)) & 0xF;
+                }
+                rowBits[row] = -1; // a full row: every cell and wall bit set
+                int above = (1 << row) - 1;
+                for (int x = 0; x < 10; x++) {
+                    int bits = columnBits[x];
+                    columnBits[x] = bits & ~above | (bits >>> 1) & above | 1 << row;
+                }
+            }
+        }
+        int[][] shape = Piece.type(piece).getShape(Piece.rotation(piece));
+        for (int r = 0; r < shape.length; r++) {
+            for (int c = 0; c < shape[r].length; c++) {
+                int gridX = Piece.x(piece) + c;
+                int gridY = Piece.y(piece) + r;
+                if (shape[r][c] != 0 && gridY >= 0 && gridY < 20 && gridX >= 0 && gridX < 10) {
+                    grid[gridY][gridX] = 0;
+                    rowBits[gridY] &= ~(1 << (gridX + WALL));
+                    columnBits[gridX] &= ~(1 << gridY);
+                }
+            }
+        }
+        lockCount--;
+        lastLocked = Piece.NONE;
+        lastLinesCleared = 0;
+        lastClearedLines = new ArrayList<>();
+        lastSpin = SpinType.NONE;
+    }
+
+    private static int nthSetBit(int bits, int n) {
+        for (int i = 0; i < n; i++) {
+            bits &= bits - 1;
+        }
+        return Integer.numberOfTrailingZeros(bits);
+    }
+
+    public List<Integer> getLastClearedLines() {
+        return new ArrayList<>(lastClearedLines);
+    }
+
+    public int getCell(int x, int y) {
+        // Colour code of one cell, without copying the grid
+        return grid[y][x];
+    }
+
+    public int getRowMask(int y) {
+        // Bit x set for each filled cell of row y
+        return rowBits[y] >>> WALL & (1 << 10) - 1;
+    }
+
+    public int getColumnMask(int x) {
+        // Bit y set for each filled cell of column x, row 0 at the top
+        return columnBits[x] & ROWS_MASK;
+    }
+
+    public boolean isEmpty() {
+        // No filled cell anywhere: a perfect clear once pending rows have collapsed
+        for (int bits : columnBits) {
+            if (bits != FLOOR) return false;
+        }
+        return true;
+    }
+
+    public boolean isPendingLineClear() {
+        return pendingLineClear;
+    }
+
+    public int[][] getGrid() {
+        /*
+         * Get a deep copy of the grid to prevent external modifications.
+         */
+        int[][] copy = new int[grid.length][];
+        for (int i = 0; i < grid.length; i++) {
+            copy[i] = Arrays.copyOf(grid[i], grid[i].length);
+        }
+        return copy;
+    }
+
+    public Tetromino getCurrentPiece() {
+        // An immutable view of the piece in play, or null
+        return Tetromino.of(current);
+    }
+
+    public int getCurrentPacked() {
+        // The piece in play as a packed Piece value (Piece.NONE if there is none)
+        return current;
+    }
+
+    public Tetromino getHoldPiece() {
+        return holdPiece != null ? new Tetromino(holdPiece, 0, 0, 0) : null;
+    }
+
+    public Tetromino getNextPiece() {
+        PieceType next = nextPieces.peek();
+        return next != null ? new Tetromino(next, 0, 0, 0) : null;
+    }
+
+    public List<Tetromino> getNextPieces(int count) {
+        List<Tetromino> list = new ArrayList<>(count);
+        Iterator<PieceType> it = nextPieces.iterator();
+        for (int i = 0; i < count && it.hasNext(); i++) {
+            list.add(new Tetromino(it.next(), 0, 0, 0));
+        }
+        return list;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getLastLocked() {
+        // The piece of the last lock, packed, or Piece.NONE once it has been undone
+        return lastLocked;
+    }
+
+    public long getLockCount() {
+        // Pieces locked since the board was created; lets callers notice each lock once
+        return lockCount;
+    }
+
+    public boolean isGameOver() {
+        /*
+         * Check if the game is over, which happens when a new piece cannot be placed.
+         */
+        return gameOver;
+    }
+
+    public SpinType getLastSpin() {
+        // How the last locked piece was placed, for scoring
+        return lastSpin;
+    }
+
+    public int getLastLinesCleared() {
+        /*
+         * Get the number of lines cleared by the last piece that was locked.
+         */
+        return lastLinesCleared;
+    }
+
+    public int[] getGhostPosition() {
+        /*
+         * Calculate the ghost position (where the piece would land if dropped).
+         */
+        if (current == Piece.NONE) return new int[]{0, 0};
+        return new int[]{Piece.x(current), Piece.y(current) + dropDistance()};
+    }
+}
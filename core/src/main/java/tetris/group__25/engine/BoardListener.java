@@ -0,0 +1,16 @@
+package tetris.group__25.engine;
+
+public interface BoardListener {
+    // Receives gameplay events from the Board; every callback defaults to a no-op.
+    // Pieces are packed (see Piece).
+    BoardListener NONE = new BoardListener() { };
+
+    default void onPieceSpawned(int piece) { }
+    default void onPieceMoved(int piece) { }
+    default void onPieceLocked(int colorCode, int stackHeight) { }
+    default void onLinesCleared(int lines, int rowMask) { }
+    default void onHold(int piece, int heldCode) { }
+    default void onGarbageAdded(int rows) { }
+    default void onBoardChanged() { }
+    default void onGameOver() { }
+}
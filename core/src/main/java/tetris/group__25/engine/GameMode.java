@@ -0,0 +1,29 @@
+package tetris.group__25.engine;
+
+public enum GameMode {
+    // MARATHON is the normal game; SURVIVAL also pushes garbage rows in on a timer.
+    // TRAINING plays like MARATHON but locks can be undone and nothing is recorded.
+    MARATHON(0, 0, 0),
+    SURVIVAL(4000, 250, 750),
+    TRAINING(0, 0, 0);
+
+    private final long startNanos;
+    private final long stepNanos;
+    private final long minNanos;
+
+    GameMode(long startMillis, long stepMillis, long minMillis) {
+        this.startNanos = startMillis * 1_000_000L;
+        this.stepNanos = stepMillis * 1_000_000L;
+        this.minNanos = minMillis * 1_000_000L;
+    }
+
+    public boolean allowsUndo() {
+        return this == TRAINING;
+    }
+
+    public long garbageIntervalNanos(int level) {
+        // Time between timed garbage rows at this level, or 0 for no timed garbage
+        if (startNanos == 0) return 0;
+        return Math.max(minNanos, startNanos - stepNanos * level);
+    }
+}
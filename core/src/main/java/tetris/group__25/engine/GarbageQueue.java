@@ -0,0 +1,71 @@
+package tetris.group__25.engine;
+
+import java.util.Random;
+
+/**
+ * Incoming garbage for timed and versus play. Rows received from an opponent wait here;
+ * line clears cancel them first, and whatever is left rises when a piece locks without
+ * clearing. Hole columns come from a seeded generator: each row keeps the previous
+ * row's hole unless a {@code messiness} roll moves it.
+ */
+public class GarbageQueue {
+    private final Random random;
+    private final double messiness;
+    private int pending;
+    private int hole;
+
+    public GarbageQueue(long seed, double messiness) {
+        this.random = new Random(seed);
+        this.messiness = messiness;
+        this.hole = random.nextInt(10);
+    }
+
+    public void reset(long seed) {
+        random.setSeed(seed);
+        hole = random.nextInt(10);
+        pending = 0;
+    }
+
+    public void receive(int rows) {
+        pending += Math.max(0, rows);
+    }
+
+    public int cancel(int lines) {
+        // Returns the lines left over after cancelling pending garbage (the outgoing attack)
+        int cancelled = Math.min(pending, lines);
+        pending -= cancelled;
+        return lines - cancelled;
+    }
+
+    public boolean inject(Board board, int rows) {
+        /*
+         * Push rows into the board straight away, grouping consecutive rows that share
+         * a hole into one shift. Returns false if the board topped out.
+         */
+        if (random.nextDouble() < messiness) moveHole();
+        int remaining = rows;
+        while (remaining > 0) {
+            int run = 1;
+            while (run < remaining && random.nextDouble() >= messiness) run++;
+            if (!board.addGarbage(run, hole)) return false;
+            remaining -= run;
+            if (remaining > 0) moveHole();
+        }
+        return true;
+    }
+
+    private void moveHole() {
+        hole = (hole + 1 + random.nextInt(9)) % 10; // always a different column
+    }
+
+    public boolean release(Board board) {
+        // Called when a piece locks without clearing: pending rows rise now
+        int rows = pending;
+        pending = 0;
+        return inject(board, rows);
+    }
+
+    public int getPending() {
+        return pending;
+    }
+}
@@ -0,0 +1,251 @@
+package tetris.group__25.engine;
+
+import tetris.group__25.score.Ruleset;
+import tetris.group__25.tetromino.Piece;
+
+/**
+ * Steps the piece in play through its phases on fixed simulation ticks: a spawn delay at
+ * the start of a game, falling under gravity, lock delay once it lands (reset by moves
+ * and rotations up to a limit), the line clear delay and the entry delay before the next
+ * piece. All timing is integer tick counts, so a game advances identically whether it is
+ * driven by the animation timer or stepped as fast as possible in headless mode.
+ *
+ * Player actions go through this class rather than straight to the {@link Board}, so
+ * every move can count against the lock delay.
+ */
+public class PieceLifecycle {
+    public static final int TICKS_PER_SECOND = Ruleset.TICKS_PER_SECOND;
+    public static final long TICK_NANOS = 1_000_000_000L / TICKS_PER_SECOND;
+
+    public enum Phase {
+        READY,    // start of a game: the first piece is shown but held for the spawn delay
+        FALLING,  // the piece has room below it and gravity applies
+        LOCKING,  // the piece has landed; it locks when the lock delay runs out
+        CLEARING, // full rows are shown until the line clear delay runs out
+        ENTRY,    // no piece in play until the entry delay runs out
+        GAME_OVER
+    }
+
+    private final Board board;
+    private Ruleset rules;
+    private int lineClearDelay;
+    private Phase phase = Phase.READY;
+    private int remaining;      // ticks left in READY, LOCKING, CLEARING and ENTRY
+    private int fallProgress;   // fraction of a row fallen so far, 16.16 like the gravity
+    private int resetsLeft;     // lock delay resets left for this piece
+    private int lowestRow;      // reaching a new lowest row gives the resets back
+    private long ticks;
+
+    public PieceLifecycle(Board board, Ruleset rules) {
+        this.board = board;
+        setRules(rules);
+    }
+
+    public void setRules(Ruleset rules) {
+        this.rules = rules;
+        this.lineClearDelay = rules.getLineClearDelay();
+    }
+
+    public void setLineClearDelay(int ticks) {
+        // Overrides the ruleset's value until the rules are set again
+        this.lineClearDelay = Math.max(0, ticks);
+    }
+
+    public static int millisToTicks(long millis) {
+        // Rounded up, so any non-zero delay lasts at least one tick
+        return (int) Math.min(Integer.MAX_VALUE, (Math.max(0, millis) * TICKS_PER_SECOND + 999) / 1000);
+    }
+
+    public void start() {
+        /*
+         * Begin a game on a freshly reset board.
+         */
+        ticks = 0;
+        if (board.isGameOver()) {
+            phase = Phase.GAME_OVER;
+            return;
+        }
+        pieceEntered();
+        enter(Phase.READY, rules.getSpawnDelay());
+        settle();
+    }
+
+    public void tick(int gravity) {
+        /*
+         * Advance one tick. Gravity is in cells per tick, 16.16 fixed point (see
+         * Ruleset.gravity): the fraction accumulates and whole rows are dropped in one
+         * step, so 20G lands a piece on the tick it enters. It keeps running while the
+         * player soft drops: each soft drop row restarts the fraction, so a piece falls at
+         * the soft drop rate when that is faster and never slower than gravity.
+         */
+        if (phase == Phase.GAME_OVER) return;
+        ticks++;
+        switch (phase) {
+            case READY, CLEARING, ENTRY -> {
+                if (--remaining <= 0) settle();
+            }
+            case LOCKING -> {
+                if (board.isFalling()) {
+                    enter(Phase.FALLING, 0); // the floor moved away, e.g. a rotation kicked it up
+                } else if (--remaining <= 0) {
+                    lockPiece();
+                }
+            }
+            default -> { }
+        }
+        if (phase == Phase.FALLING) {
+            fallProgress += gravity;
+            int rows = fallProgress >>> 16;
+            if (rows > 0) {
+                fallProgress &= Ruleset.GRAVITY_ONE - 1;
+                board.fall(rows);
+                landedOrMoved(true);
+            }
+        }
+        if (board.isGameOver()) phase = Phase.GAME_OVER;
+    }
+
+    public boolean moveLeft() {
+        return acceptsInput() && moved(board.moveLeft());
+    }
+
+    public boolean moveRight() {
+        return acceptsInput() && moved(board.moveRight());
+    }
+
+    public boolean rotate(boolean clockwise) {
+        return acceptsInput() && moved(clockwise ? board.rotate() : board.rotateCounterClockwise());
+    }
+
+    public boolean softDrop() {
+        /*
+         * Move the piece down one row. A landed piece is left to its lock delay.
+         */
+        if (!acceptsInput() || !board.fall()) return false;
+        fallProgress = 0;
+        landedOrMoved(true);
+        return true;
+    }
+
+    public int hardDrop() {
+        /*
+         * Drop the piece to the ground and lock it at once. Returns the rows dropped.
+         */
+        if (!acceptsInput()) return 0;
+        int rows = board.dropToGround();
+        lockPiece();
+        return rows;
+    }
+
+    public boolean hold() {
+        if (!acceptsInput() || !board.hold()) return false;
+        if (board.isGameOver()) {
+            phase = Phase.GAME_OVER;
+        } else {
+            pieceEntered();
+            landedOrMoved(true);
+        }
+        return true;
+    }
+
+    public boolean undo() {
+        /*
+         * Take back the last locked piece (see Board.undo) and let it fall again from the
+         * top. Works from any phase, including after a top out.
+         */
+        if (phase == Phase.READY || !board.undo()) return false;
+        pieceEntered();
+        return true;
+    }
+
+    private boolean moved(boolean moved) {
+        if (moved) landedOrMoved(false);
+        return moved;
+    }
+
+    private void landedOrMoved(boolean fell) {
+        /*
+         * Bookkeeping after the piece changed position: a new lowest row restores the
+         * lock resets, landing starts the lock delay and a move while landed resets it.
+         */
+        int y = Piece.y(board.getCurrentPacked());
+        if (y > lowestRow) {
+            lowestRow = y;
+            resetsLeft = rules.getLockResets();
+        }
+        if (board.isFalling()) {
+            if (phase == Phase.LOCKING) enter(Phase.FALLING, 0);
+            return;
+        }
+        if (phase != Phase.LOCKING) {
+            // Landing again after using up every reset locks straight away
+            enter(Phase.LOCKING, resetsLeft > 0 || fell ? rules.getLockDelay() : 0);
+        } else if (!fell && resetsLeft > 0) {
+            resetsLeft--;
+            remaining = rules.getLockDelay();
+        }
+        if (remaining <= 0) lockPiece();
+    }
+
+    private void lockPiece() {
+        int lines = board.lock();
+        if (lines > 0) {
+            enter(Phase.CLEARING, lineClearDelay);
+        } else {
+            enter(Phase.ENTRY, rules.getEntryDelay());
+        }
+        settle();
+    }
+
+    private void spawnPiece() {
+        if (!board.spawn()) {
+            phase = Phase.GAME_OVER;
+            return;
+        }
+        pieceEntered();
+        landedOrMoved(true);
+    }
+
+    private void pieceEntered() {
+        fallProgress = 0;
+        resetsLeft = rules.getLockResets();
+        lowestRow = Piece.y(board.getCurrentPacked());
+        enter(Phase.FALLING, 0);
+    }
+
+    private void settle() {
+        /*
+         * Run through phases whose delay is zero in the same tick, so a ruleset without
+         * delays behaves exactly like the instant board methods.
+         */
+        if (remaining > 0) return;
+        switch (phase) {
+            case READY -> {
+                enter(Phase.FALLING, 0);
+                landedOrMoved(true);
+            }
+            case CLEARING -> {
+                board.collapseClearedRows();
+                enter(Phase.ENTRY, rules.getEntryDelay());
+                settle();
+            }
+            case ENTRY -> spawnPiece();
+            default -> { }
+        }
+    }
+
+    private void enter(Phase next, int ticks) {
+        phase = next;
+        remaining = ticks;
+    }
+
+    public boolean acceptsInput() {
+        // Inputs made while no piece is controllable stay buffered by the caller
+        return phase == Phase.FALLING || phase == Phase.LOCKING;
+    }
+
+    public Phase getPhase() { return phase; }
+    public long getTicks() { return ticks; }
+    public int getRemainingTicks() { return remaining; }
+    public int getResetsLeft() { return resetsLeft; }
+}
@@ -0,0 +1,39 @@
+package tetris.group__25.engine;
+
+/**
+ * Super Rotation System wall kick tables. Offsets are stored as (dx, dy) pairs in board
+ * coordinates (y grows downwards), five tests per rotation transition, indexed by the
+ * state being rotated from and the direction (0 clockwise, 1 counter-clockwise).
+ */
+final class SrsKicks {
+    // J, L, S, T, Z
+    private static final int[][][] JLSTZ = {
+            {{0, 0, -1, 0, -1, -1, 0, 2, -1, 2}, {0, 0, 1, 0, 1, -1, 0, 2, 1, 2}},     // 0->R, 0->L
+            {{0, 0, 1, 0, 1, 1, 0, -2, 1, -2}, {0, 0, 1, 0, 1, 1, 0, -2, 1, -2}},      // R->2, R->0
+            {{0, 0, 1, 0, 1, -1, 0, 2, 1, 2}, {0, 0, -1, 0, -1, -1, 0, 2, -1, 2}},     // 2->L, 2->R
+            {{0, 0, -1, 0, -1, 1, 0, -2, -1, -2}, {0, 0, -1, 0, -1, 1, 0, -2, -1, -2}} // L->0, L->2
+    };
+
+    private static final int[][][] I = {
+            {{0, 0, -2, 0, 1, 0, -2, 1, 1, -2}, {0, 0, -1, 0, 2, 0, -1, -2, 2, 1}},    // 0->R, 0->L
+            {{0, 0, -1, 0, 2, 0, -1, -2, 2, 1}, {0, 0, 2, 0, -1, 0, 2, -1, -1, 2}},    // R->2, R->0
+            {{0, 0, 2, 0, -1, 0, 2, -1, -1, 2}, {0, 0, 1, 0, -2, 0, 1, 2, -2, -1}},    // 2->L, 2->R
+            {{0, 0, 1, 0, -2, 0, 1, 2, -2, -1}, {0, 0, -2, 0, 1, 0, -2, 1, 1, -2}}     // L->0, L->2
+    };
+
+    private static final int[][][] O = {
+            {{0, 0}, {0, 0}}, {{0, 0}, {0, 0}}, {{0, 0}, {0, 0}}, {{0, 0}, {0, 0}}
+    };
+
+    private SrsKicks() {
+    }
+
+    static int[] forPiece(int colorCode, int fromState, int direction) {
+        int[][][] table = switch (colorCode) {
+            case 1 -> I;
+            case 4 -> O;
+            default -> JLSTZ;
+        };
+        return table[fromState][direction];
+    }
+}
@@ -0,0 +1,177 @@
+package tetris.group__25.event;
+
+import tetris.group__25.engine.BoardListener;
+import tetris.group__25.tetromino.Piece;
+
+import java.util.Arrays;
+
+/**
+ * Typed, batched event bus between the game and whatever reacts to it (rendering,
+ * analytics, persistence). Publishing fills the next of a fixed set of preallocated
+ * {@link GameEvent}s; {@link #dispatch()}, called once per frame, hands the batch to each
+ * listener for the types it subscribed to. Consecutive moves of the same piece collapse
+ * into one event, so a fast fall costs one slot per frame, not one per row.
+ *
+ * The bus is the {@link BoardListener} of the board it serves. It is not thread safe:
+ * publish and dispatch on the game thread. Events published by a listener during dispatch
+ * go out with the next batch.
+ */
+public class EventBus implements BoardListener {
+    private GameEvent[] batch, nextBatch;
+    private int size;
+    private int pendingTypes;
+    private boolean dispatching;
+    private long dropped;
+    private GameEventListener[] listeners = new GameEventListener[0];
+    private int[] masks = new int[0];
+
+    public EventBus() {
+        this(256);
+    }
+
+    public EventBus(int capacity) {
+        batch = newEvents(capacity);
+        nextBatch = newEvents(capacity);
+    }
+
+    private static GameEvent[] newEvents(int capacity) {
+        GameEvent[] events = new GameEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new GameEvent();
+        }
+        return events;
+    }
+
+    public void subscribe(GameEventListener listener, GameEvent.Type... types) {
+        /*
+         * Register a listener for the given types (all types if none are given). Listeners
+         * are called in subscription order.
+         */
+        int mask = types.length == 0 ? -1 : GameEvent.Type.mask(types);
+        int n = listeners.length;
+        listeners = Arrays.copyOf(listeners, n + 1);
+        masks = Arrays.copyOf(masks, n + 1);
+        listeners[n] = listener;
+        masks[n] = mask;
+    }
+
+    public void unsubscribe(GameEventListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                int n = listeners.length - 1;
+                System.arraycopy(listeners, i + 1, listeners, i, n - i);
+                System.arraycopy(masks, i + 1, masks, i, n - i);
+                listeners = Arrays.copyOf(listeners, n);
+                masks = Arrays.copyOf(masks, n);
+                return;
+            }
+        }
+    }
+
+    private void publish(GameEvent.Type type, int piece, int code, int value, int rows) {
+        if (size == batch.length) {
+            if (dispatching) {
+                dropped++; // a listener flooded the next batch; keep the game running
+                return;
+            }
+            dispatch(); // a frame produced more events than fit: deliver them early
+        }
+        batch[size++].set(type, piece, code, value, rows, System.nanoTime());
+        pendingTypes |= type.bit;
+    }
+
+    public void dispatch() {
+        /*
+         * Deliver the pending batch. Each listener sees its events in publish order
+         * followed by onBatchEnd, and is skipped when the batch has none of its types.
+         */
+        if (size == 0 || dispatching) return;
+        GameEvent[] events = batch;
+        int count = size;
+        int types = pendingTypes;
+        batch = nextBatch;
+        nextBatch = events;
+        size = 0;
+        pendingTypes = 0;
+        dispatching = true;
+        try {
+            GameEventListener[] current = listeners;
+            int[] currentMasks = masks;
+            for (int l = 0; l < current.length; l++) {
+                int mask = currentMasks[l];
+                if ((mask & types) == 0) continue;
+                GameEventListener listener = current[l];
+                for (int i = 0; i < count; i++) {
+                    GameEvent event = events[i];
+                    if ((mask & event.type.bit) != 0) listener.onEvent(event);
+                }
+                listener.onBatchEnd();
+            }
+        } finally {
+            dispatching = false;
+        }
+    }
+
+    // Board events
+
+    @Override
+    public void onPieceSpawned(int piece) {
+        publish(GameEvent.Type.PIECE_SPAWNED, piece, Piece.code(piece), 0, 0);
+    }
+
+    @Override
+    public void onPieceMoved(int piece) {
+        if (size > 0) {
+            GameEvent last = batch[size - 1];
+            if (last.type == GameEvent.Type.PIECE_MOVED) {
+                // The run keeps the time of its first move
+                last.piece = piece;
+                return;
+            }
+        }
+        publish(GameEvent.Type.PIECE_MOVED, piece, Piece.code(piece), 0, 0);
+    }
+
+    @Override
+    public void onPieceLocked(int colorCode, int stackHeight) {
+        publish(GameEvent.Type.PIECE_LOCKED, Piece.NONE, colorCode, stackHeight, 0);
+    }
+
+    @Override
+    public void onLinesCleared(int lines, int rowMask) {
+        publish(GameEvent.Type.LINES_CLEARED, Piece.NONE, 0, lines, rowMask);
+    }
+
+    @Override
+    public void onHold(int piece, int heldCode) {
+        publish(GameEvent.Type.HOLD, piece, heldCode, 0, 0);
+    }
+
+    @Override
+    public void onGarbageAdded(int rows) {
+        publish(GameEvent.Type.GARBAGE_ADDED, Piece.NONE, 0, rows, 0);
+    }
+
+    @Override
+    public void onBoardChanged() {
+        publish(GameEvent.Type.BOARD_CHANGED, Piece.NONE, 0, 0, 0);
+    }
+
+    @Override
+    public void onGameOver() {
+        publish(GameEvent.Type.GAME_OVER, Piece.NONE, 0, 0, 0);
+    }
+
+    // Game events from outside the board
+
+    public void hardDrop(int piece, int landingY) {
+        publish(GameEvent.Type.HARD_DROP, piece, Piece.code(piece), landingY, 0);
+    }
+
+    public void levelUp(int level) {
+        publish(GameEvent.Type.LEVEL_UP, Piece.NONE, 0, level, 0);
+    }
+
+    public int getPending() { return size; }
+    public long getDroppedCount() { return dropped; }
+}
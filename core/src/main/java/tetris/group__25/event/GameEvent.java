@@ -0,0 +1,62 @@
+package tetris.group__25.event;
+
+import tetris.group__25.tetromino.Piece;
+
+/**
+ * One gameplay event as delivered by the {@link EventBus}. Events are preallocated by the
+ * bus and refilled for every batch, so a listener must copy what it needs and never keep
+ * the object past {@link GameEventListener#onEvent}.
+ *
+ * <pre>
+ * type            piece               code          value           rows
+ * PIECE_SPAWNED   piece in play       its colour
+ * PIECE_MOVED     piece in play       its colour
+ * HARD_DROP       piece before drop   its colour    landing row
+ * PIECE_LOCKED    locked piece        its colour    stack height
+ * LINES_CLEARED                                     lines           bit per full row
+ * HOLD            piece now in play   held colour
+ * GARBAGE_ADDED                                     rows added
+ * BOARD_CHANGED   (grid rewritten: reset, scenario load, rows collapsed, undo)
+ * LEVEL_UP                                          new level
+ * GAME_OVER
+ * </pre>
+ */
+public final class GameEvent {
+    public enum Type {
+        PIECE_SPAWNED, PIECE_MOVED, HARD_DROP, PIECE_LOCKED, LINES_CLEARED, HOLD,
+        GARBAGE_ADDED, BOARD_CHANGED, LEVEL_UP, GAME_OVER;
+
+        final int bit = 1 << ordinal();
+
+        public static int mask(Type... types) {
+            int mask = 0;
+            for (Type type : types) mask |= type.bit;
+            return mask;
+        }
+    }
+
+    Type type;
+    int piece = Piece.NONE;
+    int code;
+    int value;
+    int rows;
+    long time;
+
+    GameEvent() { }
+
+    void set(Type type, int piece, int code, int value, int rows, long time) {
+        this.type = type;
+        this.piece = piece;
+        this.code = code;
+        this.value = value;
+        this.rows = rows;
+        this.time = time;
+    }
+
+    public Type getType() { return type; }
+    public int getPiece() { return piece; }
+    public int getCode() { return code; }
+    public int getValue() { return value; }
+    public int getRows() { return rows; }
+    public long getTime() { return time; }
+}
@@ -0,0 +1,8 @@
+package tetris.group__25.event;
+
+public interface GameEventListener {
+    // Receives the event types it subscribed to, a batch at a time, in publish order.
+    void onEvent(GameEvent event);
+
+    default void onBatchEnd() { }
+}
@@ -0,0 +1,170 @@
+package tetris.group__25.headless;
+
+import tetris.group__25.analytics.GameDatasets;
+import tetris.group__25.bot.HeuristicBot;
+import tetris.group__25.bot.Weights;
+import tetris.group__25.dataset.DatasetWriter;
+import tetris.group__25.engine.Board;
+import tetris.group__25.metrics.StartupTimer;
+import tetris.group__25.scenario.Scenario;
+import tetris.group__25.score.Ruleset;
+import tetris.group__25.score.ScoreSystem;
+import tetris.group__25.tetromino.Piece;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Runs games without any UI: a seeded random player rotates, shifts and hard-drops
+ * every piece. Used to measure the engine on its own (startup, footprint, throughput)
+ * and as the entry point of the native image. With a scenario every game starts from
+ * that position instead of an empty board and ends when its goal is reached or its piece
+ * limit runs out, and the run reports how many games solved it; with a bot the {@link HeuristicBot} plays,
+ * using the default weights or a weights file such as a tuner checkpoint. A good bot can
+ * play indefinitely, so --pieces caps each game (0, the default, plays to a top out).
+ * With --out every game and every locked piece is streamed to games.nds and pieces.nds
+ * in that directory ({@link GameDatasets} schemas), chunk by chunk as the run goes.
+ *
+ * <pre>
+ * HeadlessMain [--games N] [--seed S] [--scenario NAME|PATH] [--bot default|PATH] [--pieces N]
+ *              [--out DIR]
+ * </pre>
+ */
+public final class HeadlessMain {
+    private HeadlessMain() { }
+
+    public static void main(String[] args) throws IOException {
+        StartupTimer.mark("main");
+        int games = 100;
+        long seed = 1;
+        Scenario scenario = null;
+        HeuristicBot bot = null;
+        long maxPieces = 0;
+        Path out = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--games" -> games = Integer.parseInt(args[i + 1]);
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                case "--scenario" -> scenario = Scenario.load(args[i + 1]);
+                case "--pieces" -> maxPieces = Long.parseLong(args[i + 1]);
+                case "--bot" -> bot = new HeuristicBot(args[i + 1].equals("default")
+                        ? Weights.DEFAULT : Weights.load(Path.of(args[i + 1])));
+                case "--out" -> out = Path.of(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        Board board = new Board();
+        if (bot != null) HeuristicBot.prepare(board);
+        ScoreSystem score = new ScoreSystem(Ruleset.fromSystemProperties());
+        SplittableRandom random = new SplittableRandom(seed);
+        StartupTimer.mark("engine ready");
+
+        DatasetWriter gameRows = null, pieceRows = null;
+        if (out != null) {
+            Files.createDirectories(out);
+            gameRows = DatasetWriter.toFile(GameDatasets.GAMES, out.resolve("games.nds"));
+            pieceRows = DatasetWriter.toFile(GameDatasets.PIECES, out.resolve("pieces.nds"));
+        }
+
+        long start = System.nanoTime();
+        long totalScore = 0, totalPieces = 0;
+        int solved = 0;
+        int[] clears = new int[5];
+        for (int g = 0; g < games; g++) {
+            if (scenario != null) {
+                board.load(scenario);
+            } else {
+                board.reset(random.nextLong());
+            }
+            score.reset();
+            long gameStart = System.nanoTime();
+            long firstLock = board.getLockCount();
+            long cap = maxPieces > 0 ? maxPieces : Long.MAX_VALUE;
+            int holds = 0;
+            long stackSum = 0;
+            Arrays.fill(clears, 0);
+            boolean goalReached = false;
+            while (!board.isGameOver() && board.getLockCount() - firstLock < cap) {
+                long locks = board.getLockCount();
+                if (bot != null) {
+                    if (bot.playPiece(board)) holds++;
+                } else {
+                    playPiece(board, random);
+                }
+                if (board.getLockCount() == locks) break; // the piece did not lock
+                int lines = board.getLastLinesCleared();
+                score.addLock(lines, board.getLastSpin());
+                clears[lines]++;
+                int height = stackHeight(board);
+                stackSum += height;
+                if (pieceRows != null) {
+                    pieceRows.setInt(0, g).setInt(1, (int) (board.getLockCount() - firstLock - 1))
+                            .setInt(2, Piece.code(board.getLastLocked())).setInt(3, height)
+                            .setInt(4, score.getLevel()).setLong(5, (System.nanoTime() - gameStart) / 1_000_000L)
+                            .endRow();
+                }
+                board.completeLineClear();
+                if (scenario != null) {
+                    int used = (int) (board.getLockCount() - firstLock);
+                    goalReached = scenario.isSolved(board, score.getTotalLines());
+                    if (goalReached || scenario.isFailed(board, score.getTotalLines(), used)) break;
+                }
+            }
+            if (goalReached) solved++;
+            int pieces = (int) (board.getLockCount() - firstLock);
+            totalScore += score.getScore();
+            totalPieces += pieces;
+            if (gameRows != null) {
+                gameRows.setInt(0, score.getScore()).setInt(1, score.getLevel()).setInt(2, score.getTotalLines())
+                        .setInt(3, pieces).setInt(4, holds);
+                for (int lines = 1; lines <= 4; lines++) {
+                    gameRows.setInt(4 + lines, clears[lines]);
+                }
+                gameRows.setFloat(9, pieces == 0 ? 0 : (float) stackSum / pieces)
+                        .setLong(10, (System.nanoTime() - gameStart) / 1_000_000L)
+                        .setLong(11, board.getSeed())
+                        .endRow();
+            }
+        }
+        if (out != null) {
+            gameRows.close();
+            pieceRows.close();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        StartupTimer.mark("games done");
+
+        System.out.printf(Locale.ROOT, "%d games, average score %.1f, %d pieces, %.0f pieces/s%n",
+                games, games == 0 ? 0.0 : (double) totalScore / games, totalPieces, totalPieces / seconds);
+        if (scenario != null) {
+            System.out.printf(Locale.ROOT, "scenario %s solved in %d of %d games (%.1f%%)%n",
+                    scenario.getName(), solved, games, games == 0 ? 0.0 : 100.0 * solved / games);
+        }
+        StartupTimer.printReport(System.out);
+    }
+
+    private static int stackHeight(Board board) {
+        // Height of the tallest column, counting full rows that have not collapsed yet
+        int height = 0;
+        for (int x = 0; x < 10; x++) {
+            int column = board.getColumnMask(x);
+            if (column != 0) height = Math.max(height, 20 - Integer.numberOfTrailingZeros(column));
+        }
+        return height;
+    }
+
+    private static void playPiece(Board board, SplittableRandom random) {
+        int turns = random.nextInt(4);
+        for (int t = 0; t < turns; t++) board.rotate();
+        int shift = random.nextInt(-5, 6);
+        for (int s = 0; s < Math.abs(shift); s++) {
+            boolean moved = shift < 0 ? board.moveLeft() : board.moveRight();
+            if (!moved) break;
+        }
+        board.hardDrop();
+    }
+}
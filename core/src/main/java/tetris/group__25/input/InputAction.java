@@ -0,0 +1,19 @@
+package tetris.group__25.input;
+
+public enum InputAction {
+    // Gameplay actions that go through the timestamped input pipeline.
+    MOVE_LEFT,
+    MOVE_RIGHT,
+    SOFT_DROP,
+    HARD_DROP,
+    ROTATE,
+    ROTATE_CCW,
+    HOLD,
+    UNDO;
+
+    private static final InputAction[] VALUES = values();
+
+    public static InputAction fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,33 @@
+package tetris.group__25.input;
+
+/**
+ * Handling settings for held keys: delayed auto shift, auto repeat rate and soft drop speed.
+ */
+public class InputConfig {
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final long dasNanos;
+    private final long arrNanos;
+    private final long softDropNanos;
+
+    public InputConfig(long dasMillis, long arrMillis, long softDropMillis) {
+        if (dasMillis < 0 || arrMillis < 0 || softDropMillis < 0) {
+            throw new IllegalArgumentException("Input timings must not be negative");
+        }
+        this.dasNanos = dasMillis * NANOS_PER_MILLI;
+        this.arrNanos = arrMillis * NANOS_PER_MILLI;
+        this.softDropNanos = softDropMillis * NANOS_PER_MILLI;
+    }
+
+    public static InputConfig fromSystemProperties() {
+        // Defaults: 133 ms DAS, 33 ms ARR and the original 50 ms soft drop interval.
+        return new InputConfig(
+                Long.getLong("tetris.das", 133),
+                Long.getLong("tetris.arr", 33),
+                Long.getLong("tetris.softDrop", 50));
+    }
+
+    public long getDasNanos() { return dasNanos; }
+    public long getArrNanos() { return arrNanos; }
+    public long getSoftDropNanos() { return softDropNanos; }
+}
@@ -0,0 +1,153 @@
+package tetris.group__25.input;
+
+import tetris.group__25.metrics.LatencyTracker;
+
+/**
+ * Drains the input queue inside the simulation tick and applies delayed auto shift,
+ * auto repeat and soft drop repetition based on event timestamps.
+ */
+public class InputProcessor {
+    private static final int MAX_REPEATS_PER_TICK = 10; // never more than the board width
+
+    private final InputQueue queue;
+    private final InputConfig config;
+    private final LatencyTracker latencyTracker;
+    private boolean leftHeld, rightHeld, softDropHeld;
+    private InputAction shiftDirection;
+    private long shiftStart, nextShift;
+    private long nextSoftDrop;
+    private boolean wasBlocked;
+
+    public InputProcessor(InputQueue queue, InputConfig config, LatencyTracker latencyTracker) {
+        this.queue = queue;
+        this.config = config;
+        this.latencyTracker = latencyTracker;
+    }
+
+    public void update(long now, InputTarget target, boolean accepting) {
+        /*
+         * Apply all queued events in order, then auto repeat held keys. While the game
+         * is not accepting input (e.g. during a line clear) events stay buffered.
+         */
+        if (!accepting) {
+            wasBlocked = true;
+            return;
+        }
+        if (wasBlocked) {
+            // Held keys keep their DAS charge, but repeats restart from the current tick.
+            wasBlocked = false;
+            nextShift = Math.max(nextShift, now);
+            nextSoftDrop = Math.max(nextSoftDrop, now);
+        }
+
+        while (!queue.isEmpty()) {
+            InputAction action = queue.peekAction();
+            boolean pressed = queue.peekPressed();
+            long timestamp = queue.peekTimestamp();
+            queue.remove();
+            if (pressed) {
+                onPress(action, timestamp, target);
+            } else {
+                onRelease(action, timestamp);
+            }
+        }
+
+        repeatShift(now, target);
+        repeatSoftDrop(now, target);
+    }
+
+    private void onPress(InputAction action, long timestamp, InputTarget target) {
+        switch (action) {
+            case MOVE_LEFT -> {
+                leftHeld = true;
+                startShift(InputAction.MOVE_LEFT, timestamp, target);
+            }
+            case MOVE_RIGHT -> {
+                rightHeld = true;
+                startShift(InputAction.MOVE_RIGHT, timestamp, target);
+            }
+            case SOFT_DROP -> {
+                softDropHeld = true;
+                target.apply(InputAction.SOFT_DROP);
+                nextSoftDrop = timestamp + config.getSoftDropNanos();
+            }
+            default -> target.apply(action);
+        }
+        latencyTracker.applied(action, timestamp);
+    }
+
+    private void onRelease(InputAction action, long timestamp) {
+        switch (action) {
+            case MOVE_LEFT -> {
+                leftHeld = false;
+                if (shiftDirection == InputAction.MOVE_LEFT) {
+                    // Fall back to the other direction if it is still held.
+                    shiftDirection = rightHeld ? InputAction.MOVE_RIGHT : null;
+                    shiftStart = timestamp;
+                    nextShift = timestamp + config.getDasNanos();
+                }
+            }
+            case MOVE_RIGHT -> {
+                rightHeld = false;
+                if (shiftDirection == InputAction.MOVE_RIGHT) {
+                    shiftDirection = leftHeld ? InputAction.MOVE_LEFT : null;
+                    shiftStart = timestamp;
+                    nextShift = timestamp + config.getDasNanos();
+                }
+            }
+            case SOFT_DROP -> softDropHeld = false;
+            default -> { /* one-shot actions have no release behaviour */ }
+        }
+    }
+
+    private void startShift(InputAction direction, long timestamp, InputTarget target) {
+        // The most recently pressed direction wins; the first move is immediate.
+        shiftDirection = direction;
+        shiftStart = timestamp;
+        nextShift = timestamp + config.getDasNanos();
+        target.apply(direction);
+    }
+
+    private void repeatShift(long now, InputTarget target) {
+        if (shiftDirection == null || now - shiftStart < config.getDasNanos()) return;
+
+        long arr = config.getArrNanos();
+        int moves = 0;
+        if (arr == 0) {
+            // Zero ARR teleports the piece to the wall once DAS has charged.
+            while (moves++ < MAX_REPEATS_PER_TICK && target.apply(shiftDirection)) { }
+            return;
+        }
+        while (nextShift <= now && moves++ < MAX_REPEATS_PER_TICK) {
+            target.apply(shiftDirection);
+            nextShift += arr;
+        }
+        if (nextShift <= now) nextShift = now + arr;
+    }
+
+    private void repeatSoftDrop(long now, InputTarget target) {
+        if (!softDropHeld) return;
+        long interval = config.getSoftDropNanos();
+        int drops = 0;
+        while (nextSoftDrop <= now && drops++ < MAX_REPEATS_PER_TICK) {
+            target.apply(InputAction.SOFT_DROP);
+            nextSoftDrop += interval;
+            if (interval == 0) break;
+        }
+        if (nextSoftDrop <= now) nextSoftDrop = now + interval;
+    }
+
+    public boolean isSoftDropping() {
+        return softDropHeld;
+    }
+
+    public void reset() {
+        /*
+         * Forget all held keys and buffered events, e.g. when pausing or restarting.
+         */
+        queue.clear();
+        leftHeld = rightHeld = softDropHeld = false;
+        shiftDirection = null;
+        wasBlocked = false;
+    }
+}
@@ -0,0 +1,78 @@
+package tetris.group__25.input;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded single-producer/single-consumer ring buffer of key transitions.
+ * Events are stored as primitives, so offering and polling never allocate.
+ */
+public class InputQueue {
+    private final int mask;
+    private final long[] timestamps;
+    private final byte[] actions;
+    private final boolean[] pressed;
+    private final AtomicLong head = new AtomicLong(); // next slot to read
+    private final AtomicLong tail = new AtomicLong(); // next slot to write
+    private long dropped;
+
+    public InputQueue(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.timestamps = new long[capacity];
+        this.actions = new byte[capacity];
+        this.pressed = new boolean[capacity];
+    }
+
+    public boolean offer(InputAction action, boolean isPressed, long timestamp) {
+        /*
+         * Append an event; returns false (and counts the drop) if the buffer is full.
+         */
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            dropped++;
+            return false;
+        }
+        int slot = (int) (t & mask);
+        timestamps[slot] = timestamp;
+        actions[slot] = (byte) action.ordinal();
+        pressed[slot] = isPressed;
+        tail.lazySet(t + 1); // publish the slot after it has been written
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    public InputAction peekAction() {
+        return InputAction.fromOrdinal(actions[(int) (head.get() & mask)]);
+    }
+
+    public boolean peekPressed() {
+        return pressed[(int) (head.get() & mask)];
+    }
+
+    public long peekTimestamp() {
+        return timestamps[(int) (head.get() & mask)];
+    }
+
+    public void remove() {
+        /*
+         * Discard the event at the head of the queue after it has been peeked.
+         */
+        long h = head.get();
+        if (h != tail.get()) {
+            head.lazySet(h + 1);
+        }
+    }
+
+    public void clear() {
+        head.set(tail.get());
+    }
+
+    public long getDroppedCount() {
+        return dropped;
+    }
+}
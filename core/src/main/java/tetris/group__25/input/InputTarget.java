@@ -0,0 +1,6 @@
+package tetris.group__25.input;
+
+public interface InputTarget {
+    // Applies an action to the game; returns true if the action changed the board.
+    boolean apply(InputAction action);
+}
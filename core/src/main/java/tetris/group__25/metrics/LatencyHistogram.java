@@ -0,0 +1,68 @@
+package tetris.group__25.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size log-linear histogram of durations in microseconds.
+ * Values below 16 us are exact; above that each power of two is split into 8 buckets.
+ */
+public class LatencyHistogram {
+    private static final int LINEAR = 16;
+    private static final int SUB_BUCKETS = 8;
+    private static final int BUCKETS = LINEAR + SUB_BUCKETS * 60;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private long sumMicros;
+    private long maxMicros;
+
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        counts[indexOf(micros)]++;
+        total++;
+        sumMicros += micros;
+        maxMicros = Math.max(maxMicros, micros);
+    }
+
+    private static int indexOf(long micros) {
+        if (micros < LINEAR) return (int) micros;
+        int exponent = 63 - Long.numberOfLeadingZeros(micros); // >= 4
+        int sub = (int) ((micros >>> (exponent - 3)) & (SUB_BUCKETS - 1));
+        return LINEAR + (exponent - 4) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < LINEAR) return index;
+        int exponent = (index - LINEAR) / SUB_BUCKETS + 4;
+        int sub = (index - LINEAR) % SUB_BUCKETS;
+        long step = 1L << (exponent - 3);
+        return (1L << exponent) + (sub + 1) * step - 1;
+    }
+
+    public long percentileMicros(double percentile) {
+        /*
+         * Return the upper bound of the bucket containing the given percentile.
+         */
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(upperBoundOf(i), maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+
+    public long getCount() { return total; }
+    public long getMaxMicros() { return maxMicros; }
+    public double getMeanMicros() { return total == 0 ? 0 : (double) sumMicros / total; }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        sumMicros = 0;
+        maxMicros = 0;
+    }
+}
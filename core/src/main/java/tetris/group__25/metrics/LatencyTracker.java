@@ -0,0 +1,117 @@
+package tetris.group__25.metrics;
+
+import tetris.group__25.input.InputAction;
+
+import java.io.PrintStream;
+
+/**
+ * Input-to-photon instrumentation. Each input event is stamped when the scene
+ * receives it, when it is applied to the board, when the next frame is rendered
+ * and when that pulse completes; the spans are collected per action type.
+ * Enabled with {@code -Dtetris.latency=true}; all hooks are no-ops otherwise.
+ */
+public class LatencyTracker {
+    public static final boolean ENABLED = Boolean.getBoolean("tetris.latency");
+
+    private static final int MAX_PENDING = 64;
+    private static final String[] SPANS = {"input->apply", "input->render", "input->pulse"};
+
+    private final LatencyHistogram[][] histograms;
+    // Events applied but not yet through a completed pulse, stored as parallel arrays
+    private final byte[] pendingActions = new byte[MAX_PENDING];
+    private final long[] pendingReceived = new long[MAX_PENDING];
+    private final boolean[] pendingRendered = new boolean[MAX_PENDING];
+    private int pendingCount;
+
+    public LatencyTracker() {
+        int actions = InputAction.values().length;
+        histograms = new LatencyHistogram[actions][SPANS.length];
+        for (int a = 0; a < actions; a++) {
+            for (int s = 0; s < SPANS.length; s++) {
+                histograms[a][s] = new LatencyHistogram();
+            }
+        }
+    }
+
+    public void applied(InputAction action, long receivedNanos) {
+        if (!ENABLED) return;
+        long now = System.nanoTime();
+        histograms[action.ordinal()][0].record(now - receivedNanos);
+        if (pendingCount == MAX_PENDING) return; // more inputs in one frame than we track
+        pendingActions[pendingCount] = (byte) action.ordinal();
+        pendingReceived[pendingCount] = receivedNanos;
+        pendingRendered[pendingCount] = false;
+        pendingCount++;
+    }
+
+    public void rendered() {
+        if (!ENABLED || pendingCount == 0) return;
+        long now = System.nanoTime();
+        for (int i = 0; i < pendingCount; i++) {
+            if (!pendingRendered[i]) {
+                histograms[pendingActions[i]][1].record(now - pendingReceived[i]);
+                pendingRendered[i] = true;
+            }
+        }
+    }
+
+    public void pulseCompleted() {
+        /*
+         * Close out every event whose resulting state has been rendered in this pulse.
+         */
+        if (!ENABLED || pendingCount == 0) return;
+        long now = System.nanoTime();
+        int kept = 0;
+        for (int i = 0; i < pendingCount; i++) {
+            if (pendingRendered[i]) {
+                histograms[pendingActions[i]][2].record(now - pendingReceived[i]);
+            } else {
+                pendingActions[kept] = pendingActions[i];
+                pendingReceived[kept] = pendingReceived[i];
+                pendingRendered[kept] = false;
+                kept++;
+            }
+        }
+        pendingCount = kept;
+    }
+
+    public void printReport(PrintStream out) {
+        if (!ENABLED || !hasSamples()) return;
+        out.println("Input latency (microseconds)");
+        out.printf("%-10s %-14s %8s %8s %8s %8s %8s %8s%n",
+                "action", "span", "count", "mean", "p50", "p90", "p99", "max");
+        for (InputAction action : InputAction.values()) {
+            for (int s = 0; s < SPANS.length; s++) {
+                LatencyHistogram h = histograms[action.ordinal()][s];
+                if (h.getCount() == 0) continue;
+                out.printf("%-10s %-14s %8d %8.0f %8d %8d %8d %8d%n",
+                        action, SPANS[s], h.getCount(), h.getMeanMicros(),
+                        h.percentileMicros(50), h.percentileMicros(90),
+                        h.percentileMicros(99), h.getMaxMicros());
+            }
+        }
+    }
+
+    private boolean hasSamples() {
+        for (LatencyHistogram[] perAction : histograms) {
+            for (LatencyHistogram h : perAction) {
+                if (h.getCount() > 0) return true;
+            }
+        }
+        return false;
+    }
+
+    public void discardPending() {
+        // Inputs of a game that was left are never rendered; do not time them against the next one
+        pendingCount = 0;
+    }
+
+    public void reset() {
+        for (LatencyHistogram[] perAction : histograms) {
+            for (LatencyHistogram h : perAction) {
+                h.reset();
+            }
+        }
+        pendingCount = 0;
+    }
+}
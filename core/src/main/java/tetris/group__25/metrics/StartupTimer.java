@@ -0,0 +1,62 @@
+package tetris.group__25.metrics;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records named startup milestones against the JVM's own start time, so the report
+ * includes the time spent before {@code main} (JVM boot, class loading, CDS mapping).
+ * The report ends with the heap in use and, on Linux, the peak resident set size.
+ * Enabled with {@code -Dtetris.startupReport=true}; marks are cheap no-ops otherwise.
+ */
+public final class StartupTimer {
+    public static final boolean ENABLED = Boolean.getBoolean("tetris.startupReport");
+
+    private static final long JVM_START_MILLIS = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli).orElse(System.currentTimeMillis());
+    private static final List<String> PHASES = new ArrayList<>();
+    private static final List<Long> MILLIS = new ArrayList<>();
+
+    private StartupTimer() { }
+
+    public static synchronized void mark(String phase) {
+        if (!ENABLED) return;
+        PHASES.add(phase);
+        MILLIS.add(System.currentTimeMillis() - JVM_START_MILLIS);
+    }
+
+    public static synchronized void printReport(PrintStream out) {
+        if (!ENABLED || PHASES.isEmpty()) return;
+        out.println("Startup (ms since JVM start):");
+        long previous = 0;
+        for (int i = 0; i < PHASES.size(); i++) {
+            long at = MILLIS.get(i);
+            out.printf("  %-22s %6d  (+%d)%n", PHASES.get(i), at, at - previous);
+            previous = at;
+        }
+        Runtime rt = Runtime.getRuntime();
+        out.printf("  heap used %d KB, committed %d KB%n",
+                (rt.totalMemory() - rt.freeMemory()) / 1024, rt.totalMemory() / 1024);
+        long peakRss = peakRssKb();
+        if (peakRss > 0) out.printf("  peak RSS %d KB%n", peakRss);
+    }
+
+    private static long peakRssKb() {
+        // Linux only: the high-water mark of the resident set, as reported by the kernel
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmHWM:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // not available on this platform
+        }
+        return -1;
+    }
+}
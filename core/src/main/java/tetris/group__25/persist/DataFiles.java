@@ -0,0 +1,17 @@
+package tetris.group__25.persist;
+
+import java.nio.file.Path;
+
+public final class DataFiles {
+    // Local data lives in ~/.neon-tetris unless -Dtetris.dataDir points elsewhere.
+    private DataFiles() { }
+
+    public static Path directory() {
+        String dir = System.getProperty("tetris.dataDir");
+        return dir != null ? Path.of(dir) : Path.of(System.getProperty("user.home"), ".neon-tetris");
+    }
+
+    public static Path resolve(String name) {
+        return directory().resolve(name);
+    }
+}
@@ -0,0 +1,211 @@
+package tetris.group__25.persist;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind persistence. Callers hand over appends and whole-file snapshots without
+ * blocking; a background thread collects them over a short window, coalesces snapshots of
+ * the same file (only the latest is written), appends records in order and fsyncs each
+ * touched file once per batch. A shutdown hook drains the queue before the JVM exits.
+ */
+public class WriteBehindStore implements AutoCloseable {
+    private static final long DEFAULT_WINDOW_MILLIS = 250;
+
+    private enum Kind { APPEND, SNAPSHOT, BARRIER, STOP }
+
+    private record Op(Kind kind, Path file, byte[] data, CountDownLatch done) { }
+
+    private final BlockingQueue<Op> queue;
+    private final long windowMillis;
+    private final Thread worker;
+    private final Thread shutdownHook;
+    private volatile boolean closed;
+    private long droppedOps;
+
+    public WriteBehindStore() {
+        this(4096, DEFAULT_WINDOW_MILLIS);
+    }
+
+    public WriteBehindStore(int capacity, long windowMillis) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.windowMillis = windowMillis;
+        this.worker = new Thread(this::run, "write-behind");
+        worker.setDaemon(true);
+        worker.start();
+        this.shutdownHook = new Thread(this::close, "write-behind-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    public void append(Path file, byte[] data) {
+        enqueue(new Op(Kind.APPEND, file, data, null));
+    }
+
+    public void replace(Path file, byte[] contents) {
+        enqueue(new Op(Kind.SNAPSHOT, file, contents, null));
+    }
+
+    private void enqueue(Op op) {
+        /*
+         * Never block the caller: a full queue means the disk cannot keep up, and the
+         * operation is dropped and counted rather than stalling the game.
+         */
+        if (closed || !queue.offer(op)) {
+            synchronized (this) {
+                droppedOps++;
+            }
+            System.err.println("Write-behind queue unavailable; dropped write to " + op.file());
+        }
+    }
+
+    public void flush() {
+        // Wait until everything enqueued so far is on disk.
+        if (closed) return;
+        CountDownLatch done = new CountDownLatch(1);
+        try {
+            queue.put(new Op(Kind.BARRIER, null, null, done));
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public synchronized long getDroppedOps() {
+        return droppedOps;
+    }
+
+    private void run() {
+        List<Op> batch = new ArrayList<>();
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+                // Give closely spaced writes a chance to land in the same batch
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis);
+                while (!endsBatch(batch.get(batch.size() - 1))) {
+                    long wait = deadline - System.nanoTime();
+                    Op next = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            }
+            queue.drainTo(batch);
+            writeBatch(batch);
+            for (Op op : batch) {
+                if (op.kind() == Kind.STOP) running = false;
+                if (op.done() != null) op.done().countDown();
+            }
+            batch.clear();
+        }
+    }
+
+    private static boolean endsBatch(Op op) {
+        return op.kind() == Kind.BARRIER || op.kind() == Kind.STOP;
+    }
+
+    private void writeBatch(List<Op> batch) {
+        /*
+         * Group appends per file in arrival order; keep only the newest snapshot per file.
+         */
+        Map<Path, List<byte[]>> appends = new LinkedHashMap<>();
+        Map<Path, byte[]> snapshots = new LinkedHashMap<>();
+        for (Op op : batch) {
+            switch (op.kind()) {
+                case APPEND -> appends.computeIfAbsent(op.file(), f -> new ArrayList<>()).add(op.data());
+                case SNAPSHOT -> snapshots.put(op.file(), op.data());
+                default -> { }
+            }
+        }
+        for (Map.Entry<Path, List<byte[]>> e : appends.entrySet()) {
+            try {
+                writeAppends(e.getKey(), e.getValue());
+            } catch (IOException ex) {
+                System.err.println("Could not write " + e.getKey() + ": " + ex.getMessage());
+            }
+        }
+        for (Map.Entry<Path, byte[]> e : snapshots.entrySet()) {
+            try {
+                writeSnapshot(e.getKey(), e.getValue());
+            } catch (IOException ex) {
+                System.err.println("Could not write " + e.getKey() + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    private static void writeAppends(Path file, List<byte[]> records) throws IOException {
+        createParent(file);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer[] buffers = new ByteBuffer[records.size()];
+            for (int i = 0; i < buffers.length; i++) {
+                buffers[i] = ByteBuffer.wrap(records.get(i));
+            }
+            long remaining = 0;
+            for (byte[] r : records) remaining += r.length;
+            while (remaining > 0) {
+                remaining -= ch.write(buffers);
+            }
+            ch.force(false); // one fsync for the whole batch
+        }
+    }
+
+    private static void writeSnapshot(Path file, byte[] contents) throws IOException {
+        // Write to a temporary file and move it into place so readers never see half a file.
+        createParent(file);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.wrap(contents);
+            while (buf.hasRemaining()) {
+                ch.write(buf);
+            }
+            ch.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void createParent(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+    }
+
+    @Override
+    public void close() {
+        /*
+         * Drain everything queued, then stop the worker. Safe to call more than once.
+         */
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+        }
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // already shutting down
+            }
+        }
+        CountDownLatch done = new CountDownLatch(1);
+        try {
+            queue.put(new Op(Kind.STOP, null, null, done));
+            done.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
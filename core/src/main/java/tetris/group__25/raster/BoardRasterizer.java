@@ -0,0 +1,96 @@
+package tetris.group__25.raster;
+
+import tetris.group__25.engine.Board;
+import tetris.group__25.tetromino.Piece;
+
+/**
+ * Draws a {@link Board} into an ARGB int array, one pixel per int, row by row, without
+ * JavaFX. Every cell kind (empty, locked, active and ghost, per colour code) is drawn
+ * once into a tile when the rasterizer is created, composited onto the background and
+ * framed like the game's cells; a frame is then just tile rows copied into place with
+ * {@link System#arraycopy}. A rasterizer is not thread safe; give each thread its own.
+ */
+public final class BoardRasterizer {
+    public static final int COLS = 10;
+    public static final int ROWS = 20;
+
+    private final int cell;
+    private final int width, height;
+    private final int[][] lockedTiles = new int[CellPalette.CODES][];
+    private final int[][] activeTiles = new int[CellPalette.CODES][];
+    private final int[][] ghostTiles = new int[CellPalette.CODES][];
+
+    public BoardRasterizer(int cellSize) {
+        if (cellSize < 3) throw new IllegalArgumentException("Cell size must be at least 3 pixels: " + cellSize);
+        this.cell = cellSize;
+        this.width = COLS * cellSize;
+        this.height = ROWS * cellSize;
+        int empty = CellPalette.blend(CellPalette.EMPTY_CELL, CellPalette.BACKGROUND);
+        for (int code = 0; code < CellPalette.CODES; code++) {
+            // Grid cells keep the grid stroke; the falling piece and its ghost are drawn
+            // over an empty cell with the lighter piece stroke, as in the game
+            int locked = CellPalette.blend(CellPalette.locked(code), CellPalette.BACKGROUND);
+            lockedTiles[code] = tile(locked, CellPalette.blend(CellPalette.GRID_STROKE, locked));
+            int active = CellPalette.blend(CellPalette.active(code), empty);
+            activeTiles[code] = tile(active, CellPalette.blend(CellPalette.CELL_STROKE, active));
+            int ghost = CellPalette.blend(CellPalette.ghost(code), empty);
+            ghostTiles[code] = tile(ghost, CellPalette.blend(CellPalette.CELL_STROKE, ghost));
+        }
+    }
+
+    private int[] tile(int fill, int stroke) {
+        int[] tile = new int[cell * cell];
+        for (int y = 0; y < cell; y++) {
+            for (int x = 0; x < cell; x++) {
+                boolean edge = x == 0 || y == 0 || x == cell - 1 || y == cell - 1;
+                tile[y * cell + x] = edge ? stroke : fill;
+            }
+        }
+        return tile;
+    }
+
+    public int[] newBuffer() {
+        return new int[width * height];
+    }
+
+    public void render(Board board, int[] pixels) {
+        /*
+         * The grid, then the ghost and the piece in play on top, like the game view.
+         */
+        for (int y = 0; y < ROWS; y++) {
+            for (int x = 0; x < COLS; x++) {
+                blit(lockedTiles[board.getCell(x, y)], x, y, pixels);
+            }
+        }
+        int piece = board.getCurrentPacked();
+        if (piece != Piece.NONE) {
+            int code = Piece.code(piece);
+            int ghostY = Piece.y(piece) + board.dropDistance();
+            drawPiece(piece, ghostY, ghostTiles[code], pixels);
+            drawPiece(piece, Piece.y(piece), activeTiles[code], pixels);
+        }
+    }
+
+    private void drawPiece(int piece, int pieceY, int[] tile, int[] pixels) {
+        int[] rows = Piece.rowMasks(piece);
+        for (int r = 0; r < rows.length; r++) {
+            int y = pieceY + r;
+            if (y < 0 || y >= ROWS) continue;
+            for (int bits = rows[r]; bits != 0; bits &= bits - 1) {
+                int x = Piece.x(piece) + Integer.numberOfTrailingZeros(bits);
+                if (x >= 0 && x < COLS) blit(tile, x, y, pixels);
+            }
+        }
+    }
+
+    private void blit(int[] tile, int cellX, int cellY, int[] pixels) {
+        int offset = cellY * cell * width + cellX * cell;
+        for (int row = 0; row < cell; row++, offset += width) {
+            System.arraycopy(tile, row * cell, pixels, offset, cell);
+        }
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int getCellSize() { return cell; }
+}
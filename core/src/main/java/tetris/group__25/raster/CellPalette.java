@@ -0,0 +1,102 @@
+package tetris.group__25.raster;
+
+/**
+ * The board colours as ARGB ints, for drawing without JavaFX. The base colour of each
+ * cell code is defined here and the UI palette builds its JavaFX colours from it; the
+ * locked, active and ghost variants use the same hue/saturation/brightness/opacity
+ * adjustments as the UI ({@code Color.deriveColor}), so thumbnails match the game.
+ */
+public final class CellPalette {
+    public static final int CODES = 9; // 0 is an empty cell, 1-7 are the tetromino codes, 8 is garbage
+
+    public static final int EMPTY_CELL = argb(255, 35, 40, 60);
+    public static final int GRID_STROKE = argb(255, 70, 75, 95);
+    public static final int CELL_STROKE = argb(77, 255, 255, 255);
+    public static final int BACKGROUND = argb(255, 25, 30, 45); // level 0 theme, behind the grid
+
+    private static final int[] BASE = {
+            argb(255, 0, 0, 0),       // empty
+            argb(255, 0, 255, 255),   // I cyan
+            argb(255, 0, 0, 255),     // J blue
+            argb(255, 255, 165, 0),   // L orange
+            argb(255, 255, 255, 0),   // O yellow
+            argb(255, 0, 128, 0),     // S green
+            argb(255, 128, 0, 128),   // T purple
+            argb(255, 255, 0, 0),     // Z red
+            argb(255, 128, 128, 128)  // garbage grey
+    };
+    private static final int[] LOCKED = new int[CODES];
+    private static final int[] ACTIVE = new int[CODES];
+    private static final int[] GHOST = new int[CODES];
+
+    static {
+        LOCKED[0] = ACTIVE[0] = GHOST[0] = EMPTY_CELL;
+        for (int code = 1; code < CODES; code++) {
+            LOCKED[code] = derive(BASE[code], 0.8, 1.1, 0.9);
+            ACTIVE[code] = derive(BASE[code], 0.8, 1.1, 0.95);
+            GHOST[code] = derive(BASE[code], 0.3, 1.2, 0.4);
+        }
+    }
+
+    private CellPalette() { }
+
+    public static int base(int code) { return BASE[index(code)]; }
+    public static int locked(int code) { return LOCKED[index(code)]; }
+    public static int active(int code) { return ACTIVE[index(code)]; }
+    public static int ghost(int code) { return GHOST[index(code)]; }
+
+    private static int index(int code) {
+        return code >= 0 && code < CODES ? code : 0;
+    }
+
+    public static int argb(int a, int r, int g, int b) {
+        return a << 24 | r << 16 | g << 8 | b;
+    }
+
+    static int derive(int argb, double saturationFactor, double brightnessFactor, double opacityFactor) {
+        /*
+         * Scale saturation, brightness and opacity in HSB space and clamp, as JavaFX does.
+         */
+        double r = (argb >>> 16 & 0xFF) / 255.0, g = (argb >>> 8 & 0xFF) / 255.0, b = (argb & 0xFF) / 255.0;
+        double max = Math.max(r, Math.max(g, b)), min = Math.min(r, Math.min(g, b));
+        double hue = 0;
+        double saturation = max != 0 ? (max - min) / max : 0;
+        double brightness = max;
+        if (saturation != 0) {
+            double rc = (max - r) / (max - min), gc = (max - g) / (max - min), bc = (max - b) / (max - min);
+            hue = r == max ? bc - gc : g == max ? 2 + rc - bc : 4 + gc - rc;
+            hue /= 6;
+            if (hue < 0) hue += 1;
+        }
+        if (brightness == 0 && brightnessFactor > 1) brightness = 0.05;
+        saturation = Math.max(0, Math.min(1, saturation * saturationFactor));
+        brightness = Math.max(0, Math.min(1, brightness * brightnessFactor));
+        double opacity = Math.max(0, Math.min(1, (argb >>> 24) / 255.0 * opacityFactor));
+
+        // HSB back to RGB
+        double h = (hue - Math.floor(hue)) * 6;
+        double f = h - Math.floor(h);
+        double p = brightness * (1 - saturation);
+        double q = brightness * (1 - saturation * f);
+        double t = brightness * (1 - saturation * (1 - f));
+        double[] rgb = switch ((int) h) {
+            case 0 -> new double[] {brightness, t, p};
+            case 1 -> new double[] {q, brightness, p};
+            case 2 -> new double[] {p, brightness, t};
+            case 3 -> new double[] {p, q, brightness};
+            case 4 -> new double[] {t, p, brightness};
+            default -> new double[] {brightness, p, q};
+        };
+        return argb((int) Math.round(opacity * 255), (int) Math.round(rgb[0] * 255),
+                (int) Math.round(rgb[1] * 255), (int) Math.round(rgb[2] * 255));
+    }
+
+    static int blend(int over, int under) {
+        // Source-over compositing onto an opaque colour
+        int a = over >>> 24;
+        int r = ((over >>> 16 & 0xFF) * a + (under >>> 16 & 0xFF) * (255 - a) + 127) / 255;
+        int g = ((over >>> 8 & 0xFF) * a + (under >>> 8 & 0xFF) * (255 - a) + 127) / 255;
+        int b = ((over & 0xFF) * a + (under & 0xFF) * (255 - a) + 127) / 255;
+        return argb(255, r, g, b);
+    }
+}
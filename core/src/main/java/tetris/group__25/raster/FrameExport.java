@@ -0,0 +1,74 @@
+package tetris.group__25.raster;
+
+import tetris.group__25.bot.HeuristicBot;
+import tetris.group__25.bot.Weights;
+import tetris.group__25.engine.Board;
+import tetris.group__25.scenario.Scenario;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Replays a seeded bot game and writes one PNG frame per piece through a
+ * {@link FramePipeline}, then reports how fast frames were rasterized and written.
+ * The same seed, weights and scenario always give the same frames.
+ *
+ * <pre>
+ * FrameExport [--seed S] [--pieces N] [--out DIR] [--cell PX] [--threads N]
+ *             [--bot default|PATH] [--scenario NAME|PATH]
+ * </pre>
+ */
+public final class FrameExport {
+    private FrameExport() { }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long seed = 1;
+        int pieces = 500, cell = 24;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Path out = Path.of("frames");
+        Weights weights = Weights.DEFAULT;
+        Scenario scenario = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                case "--pieces" -> pieces = Integer.parseInt(args[i + 1]);
+                case "--out" -> out = Path.of(args[i + 1]);
+                case "--cell" -> cell = Integer.parseInt(args[i + 1]);
+                case "--threads" -> threads = Integer.parseInt(args[i + 1]);
+                case "--bot" -> weights = args[i + 1].equals("default") ? Weights.DEFAULT : Weights.load(Path.of(args[i + 1]));
+                case "--scenario" -> scenario = Scenario.load(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        Board board = new Board();
+        HeuristicBot.prepare(board);
+        if (scenario != null) {
+            board.load(scenario);
+        } else {
+            board.reset(seed);
+        }
+        HeuristicBot bot = new HeuristicBot(weights);
+        BoardRasterizer rasterizer = new BoardRasterizer(cell);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        FramePipeline frames = new FramePipeline(out, rasterizer, executor, threads * 2);
+        try (frames) {
+            frames.submit(board);
+            for (int p = 0; p < pieces && !board.isGameOver(); p++) {
+                bot.playPiece(board);
+                board.completeLineClear();
+                frames.submit(board);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf(Locale.ROOT, "%d frames of %dx%d to %s: %.0f frames/s rasterized, %.0f frames/s written%n",
+                frames.getFrames(), rasterizer.getWidth(), rasterizer.getHeight(), out,
+                frames.getFrames() / (frames.getRenderNanos() / 1e9), frames.getFrames() / seconds);
+    }
+}
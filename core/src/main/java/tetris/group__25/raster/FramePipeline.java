@@ -0,0 +1,85 @@
+package tetris.group__25.raster;
+
+import tetris.group__25.engine.Board;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Writes a numbered PNG sequence (frame-000000.png, ...) from board states. Frames are
+ * rasterized on the calling thread, which has to step the game in order anyway, into a
+ * small pool of pixel buffers; PNG encoding and the file write run on the executor, in
+ * parallel across frames, with encoders pooled the same way and freed by close(). When
+ * every buffer is waiting to be encoded the caller blocks, so memory stays bounded
+ * however long the sequence is.
+ */
+public final class FramePipeline implements AutoCloseable {
+    private final Path directory;
+    private final BoardRasterizer rasterizer;
+    private final ExecutorService executor;
+    private final BlockingQueue<int[]> freeBuffers;
+    private final Queue<PngEncoder> idleEncoders = new ConcurrentLinkedQueue<>(); // at most one per executor thread
+    private final List<CompletableFuture<Void>> pending = new ArrayList<>();
+    private int frames;
+    private long renderNanos;
+
+    public FramePipeline(Path directory, BoardRasterizer rasterizer, ExecutorService executor, int buffers)
+            throws IOException {
+        this.directory = directory;
+        this.rasterizer = rasterizer;
+        this.executor = executor;
+        this.freeBuffers = new ArrayBlockingQueue<>(buffers);
+        for (int i = 0; i < buffers; i++) {
+            freeBuffers.add(rasterizer.newBuffer());
+        }
+        Files.createDirectories(directory);
+    }
+
+    public void submit(Board board) throws InterruptedException {
+        int[] pixels = freeBuffers.take();
+        long start = System.nanoTime();
+        rasterizer.render(board, pixels);
+        renderNanos += System.nanoTime() - start;
+        Path file = directory.resolve(String.format("frame-%06d.png", frames++));
+        pending.add(CompletableFuture.runAsync(() -> {
+            PngEncoder encoder = idleEncoders.poll();
+            if (encoder == null) encoder = new PngEncoder();
+            try {
+                byte[] png = encoder.encode(pixels, rasterizer.getWidth(), rasterizer.getHeight());
+                Files.write(file, png);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                idleEncoders.add(encoder);
+                freeBuffers.add(pixels);
+            }
+        }, executor));
+        if (pending.size() >= 1024) pending.removeIf(f -> f.isDone() && !f.isCompletedExceptionally());
+    }
+
+    @Override
+    public void close() {
+        // Wait for every frame, then free the encoders; the first failed write is rethrown
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            pending.clear();
+            for (PngEncoder encoder; (encoder = idleEncoders.poll()) != null; ) {
+                encoder.end();
+            }
+        }
+    }
+
+    public int getFrames() { return frames; }
+    public long getRenderNanos() { return renderNanos; }
+}
@@ -0,0 +1,88 @@
+package tetris.group__25.raster;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Encodes an opaque ARGB int array as an 8-bit RGB PNG with java.util.zip alone, so
+ * images can be written without java.desktop. Rows use the Sub filter, which turns the
+ * flat runs of a board into zeros that deflate well. An encoder keeps its buffers
+ * between images and is not thread safe; use one per thread, and {@link #end()} it when
+ * done so the native zlib memory is freed without waiting for the garbage collector.
+ */
+public final class PngEncoder {
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int FILTER_SUB = 1;
+
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private byte[] raw = new byte[0];
+    private byte[] compressed = new byte[0];
+
+    public PngEncoder() {
+        this(Deflater.BEST_SPEED);
+    }
+
+    public PngEncoder(int level) {
+        this.deflater = new Deflater(level);
+    }
+
+    public byte[] encode(int[] argb, int width, int height) {
+        int stride = width * 3 + 1;
+        if (raw.length < stride * height) raw = new byte[stride * height];
+        for (int y = 0; y < height; y++) {
+            int out = y * stride;
+            raw[out++] = FILTER_SUB;
+            int previous = 0;
+            for (int x = 0, in = y * width; x < width; x++, in++) {
+                int pixel = argb[in];
+                raw[out++] = (byte) ((pixel >>> 16) - (previous >>> 16));
+                raw[out++] = (byte) ((pixel >>> 8) - (previous >>> 8));
+                raw[out++] = (byte) (pixel - previous);
+                previous = pixel;
+            }
+        }
+
+        deflater.reset();
+        deflater.setInput(raw, 0, stride * height);
+        deflater.finish();
+        int length = 0;
+        if (compressed.length == 0) compressed = new byte[stride * height / 4 + 64];
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                byte[] grown = new byte[compressed.length * 2];
+                System.arraycopy(compressed, 0, grown, 0, length);
+                compressed = grown;
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream(length + 64);
+        png.writeBytes(SIGNATURE);
+        ByteBuffer header = ByteBuffer.allocate(13);
+        header.putInt(width).putInt(height).put((byte) 8).put((byte) 2) // 8-bit RGB
+                .put((byte) 0).put((byte) 0).put((byte) 0);               // deflate, no interlace
+        chunk(png, "IHDR", header.array(), 13);
+        chunk(png, "IDAT", compressed, length);
+        chunk(png, "IEND", new byte[0], 0);
+        return png.toByteArray();
+    }
+
+    public void end() {
+        deflater.end();
+    }
+
+    private void chunk(ByteArrayOutputStream out, String type, byte[] data, int length) {
+        byte[] name = type.getBytes(StandardCharsets.US_ASCII);
+        out.writeBytes(ByteBuffer.allocate(4).putInt(length).array());
+        out.writeBytes(name);
+        out.write(data, 0, length);
+        crc.reset();
+        crc.update(name);
+        crc.update(data, 0, length);
+        out.writeBytes(ByteBuffer.allocate(4).putInt((int) crc.getValue()).array());
+    }
+}
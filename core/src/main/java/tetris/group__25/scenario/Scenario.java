@@ -0,0 +1,209 @@
+package tetris.group__25.scenario;
+
+import tetris.group__25.engine.Board;
+import tetris.group__25.tetromino.PieceType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A prepared starting position: a partly filled grid, the pieces to deal first, the hold
+ * piece and a goal. Scenarios are written as text, parsed once and kept as row and column
+ * bitmasks plus colour rows, so {@link Board#load} only copies arrays and thousands can
+ * be loaded per second (puzzles, bot regression suites, benchmarks).
+ *
+ * <pre>
+ * # comment
+ * name = T-spin double
+ * pieces = T I O       dealt first, then the bag sequence of the seed
+ * hold = L             optional
+ * seed = 7             optional, 0 by default
+ * goal.lines = 2       lines to clear
+ * goal.perfectClear = true
+ * limit = 1            pieces allowed, 0 for no limit
+ * grid:
+ * ....TT....
+ * XXXX.XXXXX           rows are bottom aligned; . is empty, X garbage, IOTSZJL coloured
+ * </pre>
+ *
+ * Bundled scenarios live next to this class in {@code scenarios/}.
+ */
+public final class Scenario {
+    private static final int WIDTH = 10;
+    private static final int HEIGHT = 20;
+    private static final Map<String, Scenario> CACHE = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final int[] rowMasks = new int[HEIGHT];      // bit x set for a filled cell
+    private final int[] columnMasks = new int[WIDTH];    // bit y set for a filled cell
+    private final int[][] cells = new int[HEIGHT][WIDTH]; // colour codes
+    private final PieceType[] pieces;
+    private final PieceType hold;
+    private final long seed;
+    private final int goalLines;
+    private final boolean perfectClear;
+    private final int pieceLimit;
+
+    private Scenario(String name, String text) {
+        String title = name;
+        List<PieceType> sequence = new ArrayList<>();
+        PieceType holdPiece = null;
+        long seedValue = 0;
+        int lines = 0, limit = 0;
+        boolean clearAll = false;
+        List<String> rows = new ArrayList<>();
+        boolean inGrid = false;
+        int lineNumber = 0;
+        for (String line : text.split("\r?\n")) {
+            lineNumber++;
+            if (inGrid) {
+                String row = line.strip();
+                if (!row.isEmpty()) rows.add(row);
+                continue;
+            }
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+            if (trimmed.equals("grid:")) {
+                inGrid = true;
+                continue;
+            }
+            int eq = trimmed.indexOf('=');
+            if (eq < 0) throw error(name, lineNumber, "expected key = value");
+            String key = trimmed.substring(0, eq).strip();
+            String value = trimmed.substring(eq + 1).strip();
+            try {
+                switch (key) {
+                    case "name" -> title = value;
+                    case "pieces" -> {
+                        for (char c : value.replace(" ", "").replace(",", "").toCharArray()) {
+                            sequence.add(pieceType(c));
+                        }
+                    }
+                    case "hold" -> holdPiece = value.isEmpty() ? null : pieceType(value.charAt(0));
+                    case "seed" -> seedValue = Long.parseLong(value);
+                    case "goal.lines" -> lines = Integer.parseInt(value);
+                    case "goal.perfectClear" -> clearAll = Boolean.parseBoolean(value);
+                    case "limit" -> limit = Integer.parseInt(value);
+                    default -> throw error(name, lineNumber, "unknown key " + key);
+                }
+            } catch (NumberFormatException e) {
+                throw error(name, lineNumber, "not a number: " + value);
+            }
+        }
+        if (rows.size() > HEIGHT) throw error(name, 0, "more than " + HEIGHT + " grid rows");
+
+        // Rows are bottom aligned: the last one written is row 19
+        int top = HEIGHT - rows.size();
+        for (int i = 0; i < rows.size(); i++) {
+            String row = rows.get(i);
+            int y = top + i;
+            if (row.length() != WIDTH) throw error(name, 0, "grid row " + (i + 1) + " is not " + WIDTH + " cells wide");
+            for (int x = 0; x < WIDTH; x++) {
+                int code = cellCode(row.charAt(x));
+                if (code < 0) throw error(name, 0, "unknown cell '" + row.charAt(x) + "' in grid row " + (i + 1));
+                if (code == 0) continue;
+                cells[y][x] = code;
+                rowMasks[y] |= 1 << x;
+                columnMasks[x] |= 1 << y;
+            }
+            if (rowMasks[y] == (1 << WIDTH) - 1) throw error(name, 0, "grid row " + (i + 1) + " is already full");
+        }
+        this.name = title;
+        this.pieces = sequence.toArray(new PieceType[0]);
+        this.hold = holdPiece;
+        this.seed = seedValue;
+        this.goalLines = lines;
+        this.perfectClear = clearAll;
+        this.pieceLimit = limit;
+    }
+
+    private static PieceType pieceType(char c) {
+        int code = cellCode(Character.toUpperCase(c));
+        if (code < 1 || code > PieceType.values().length) throw new IllegalArgumentException("not a piece: " + c);
+        return PieceType.fromCode(code);
+    }
+
+    private static int cellCode(char c) {
+        return switch (c) {
+            case '.', ' ', '_' -> 0;
+            case 'X', '#', 'G' -> Board.GARBAGE;
+            default -> {
+                for (PieceType type : PieceType.values()) {
+                    if (type.name().charAt(0) == c) yield type.getCode();
+                }
+                yield -1;
+            }
+        };
+    }
+
+    private static IllegalArgumentException error(String name, int line, String message) {
+        return new IllegalArgumentException("Scenario " + name + (line > 0 ? " line " + line : "") + ": " + message);
+    }
+
+    public static Scenario parse(String name, String text) {
+        return new Scenario(name, text);
+    }
+
+    public static Scenario load(String nameOrPath) throws IOException {
+        /*
+         * A path to a scenario file, or the name of a bundled one. Each is parsed once;
+         * later calls return the cached fixture.
+         */
+        Scenario cached = CACHE.get(nameOrPath);
+        if (cached != null) return cached;
+        String text;
+        Path file = Path.of(nameOrPath);
+        if (Files.isRegularFile(file)) {
+            text = Files.readString(file, StandardCharsets.UTF_8);
+        } else {
+            try (InputStream in = Scenario.class.getResourceAsStream("scenarios/" + nameOrPath + ".txt")) {
+                if (in == null) throw new IOException("No such scenario: " + nameOrPath);
+                text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+        Scenario scenario = parse(file.getFileName().toString().replace(".txt", ""), text);
+        CACHE.putIfAbsent(nameOrPath, scenario);
+        return scenario;
+    }
+
+    public boolean isSolved(Board board, int linesCleared) {
+        // Goal reached: enough lines cleared and, for a perfect clear, nothing left standing
+        return linesCleared >= goalLines && (!perfectClear || board.isEmpty());
+    }
+
+    public boolean isFailed(Board board, int linesCleared, int piecesUsed) {
+        // Out of pieces without reaching the goal
+        return pieceLimit > 0 && piecesUsed >= pieceLimit && !isSolved(board, linesCleared);
+    }
+
+    public int getRowMask(int y) { return rowMasks[y]; }
+    public int getColumnMask(int x) { return columnMasks[x]; }
+    public int getCell(int x, int y) { return cells[y][x]; }
+
+    public void copyRow(int y, int[] dest) {
+        System.arraycopy(cells[y], 0, dest, 0, WIDTH);
+    }
+
+    public PieceType getPiece(int i) { return pieces[i]; }
+    public int getPieceCount() { return pieces.length; }
+    public PieceType getHold() { return hold; }
+    public long getSeed() { return seed; }
+    public int getGoalLines() { return goalLines; }
+    public boolean isPerfectClear() { return perfectClear; }
+    public int getPieceLimit() { return pieceLimit; }
+    public String getName() { return name; }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s (%d pieces, goal %d lines%s)", name, pieces.length, goalLines,
+                perfectClear ? ", perfect clear" : "");
+    }
+}
@@ -0,0 +1,42 @@
+package tetris.group__25.score;
+
+import tetris.group__25.persist.WriteBehindStore;
+
+import java.util.List;
+import java.util.prefs.Preferences;
+
+public class HighScoreManager {
+    private static final String HIGH_SCORE_KEY = "highScore";
+    private final Leaderboard leaderboard;
+
+    public HighScoreManager(WriteBehindStore store) {
+        this(new Leaderboard(Leaderboard.defaultFile(), store));
+    }
+
+    public HighScoreManager(Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+        migrateLegacyHighScore();
+    }
+
+    private void migrateLegacyHighScore() {
+        // Carry over the single high score older versions kept in Preferences.
+        if (leaderboard.size() > 0) return;
+        Preferences prefs = Preferences.userNodeForPackage(HighScoreManager.class);
+        int legacy = prefs.getInt(HIGH_SCORE_KEY, 0);
+        if (legacy > 0) {
+            leaderboard.record(new LeaderboardEntry(legacy, 0, 0, 0, 0, 0));
+        }
+    }
+
+    public int getHighScore() {
+        return leaderboard.getHighScore();
+    }
+
+    public List<LeaderboardEntry> getTopScores() {
+        return leaderboard.getTopEntries();
+    }
+
+    public void recordGame(LeaderboardEntry entry) {
+        leaderboard.record(entry);
+    }
+}
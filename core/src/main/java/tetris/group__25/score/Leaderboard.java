@@ -0,0 +1,166 @@
+package tetris.group__25.score;
+
+import tetris.group__25.persist.DataFiles;
+import tetris.group__25.persist.WriteBehindStore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Local leaderboard backed by an append-only file of fixed-size, checksummed records.
+ * All entries are held in memory sorted by score, with the top entries cached, so
+ * reads never touch the disk. New entries are appended through a {@link WriteBehindStore}.
+ * A torn or corrupt record at the end of the file (e.g. after a power cut) is dropped on load;
+ * a corrupt record further in is skipped. A file of another format or version is moved aside.
+ */
+public class Leaderboard {
+    private static final int MAGIC = 0x4E544C42; // "NTLB"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int PAYLOAD_SIZE = 4 + 4 + 4 + 8 + 8 + 8;
+    private static final int RECORD_SIZE = PAYLOAD_SIZE + 4; // payload + CRC32
+    private static final int TOP_N = 10;
+
+    private static final Comparator<LeaderboardEntry> RANKING =
+            Comparator.comparingInt(LeaderboardEntry::score).reversed()
+                    .thenComparingLong(LeaderboardEntry::timestamp);
+
+    private final Path file;
+    private final List<LeaderboardEntry> sorted = new ArrayList<>();
+    private volatile List<LeaderboardEntry> topEntries = List.of();
+    private volatile int highScore;
+    private final WriteBehindStore store;
+    private boolean writable = true;
+
+    public Leaderboard(Path file, WriteBehindStore store) {
+        this.file = file;
+        this.store = store;
+        if (!load() && writable) {
+            store.append(file, ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).array());
+        }
+    }
+
+    public static Path defaultFile() {
+        return DataFiles.resolve("leaderboard.dat");
+    }
+
+    private boolean load() {
+        /*
+         * Read every intact record into memory and cut off a torn tail, if any. A corrupt
+         * record inside the file is skipped; the records after it are kept. Returns false
+         * if there is no usable header yet, after moving a file of another format or
+         * version aside so it is not appended to.
+         */
+        if (!Files.exists(file)) return false;
+        boolean foreign = false;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (ch.read(header, 0) < HEADER_SIZE) {
+                ch.truncate(0);
+                return false;
+            }
+            header.flip();
+            foreign = header.getInt() != MAGIC || header.getInt() != VERSION;
+            if (!foreign) {
+                long validEnd = HEADER_SIZE;
+                int skipped = 0, corrupt = 0;
+                ByteBuffer buf = ByteBuffer.allocate(RECORD_SIZE * 256);
+                long position = HEADER_SIZE;
+                CRC32 crc = new CRC32();
+                while (true) {
+                    buf.clear();
+                    int read = ch.read(buf, position);
+                    if (read <= 0) break;
+                    buf.flip();
+                    while (buf.remaining() >= RECORD_SIZE) {
+                        int start = buf.position();
+                        crc.reset();
+                        crc.update(buf.slice(start, PAYLOAD_SIZE));
+                        LeaderboardEntry entry = new LeaderboardEntry(
+                                buf.getInt(), buf.getInt(), buf.getInt(), buf.getLong(), buf.getLong(), buf.getLong());
+                        if (buf.getInt() != (int) crc.getValue()) {
+                            corrupt++; // records are fixed size: the next one still starts in step
+                            continue;
+                        }
+                        sorted.add(entry);
+                        validEnd = position + buf.position();
+                        skipped += corrupt;
+                        corrupt = 0;
+                    }
+                    if (buf.remaining() > 0 && read < buf.capacity()) break; // partial record at the end
+                    position += buf.position();
+                }
+                // Everything after the last intact record is a torn or corrupt tail
+                if (ch.size() != validEnd) {
+                    ch.truncate(validEnd);
+                }
+                if (skipped > 0) {
+                    System.err.println("Skipped " + skipped + " corrupt leaderboard records in " + file);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not load leaderboard: " + e.getMessage());
+        }
+        if (foreign) {
+            Path aside = file.resolveSibling(file.getFileName() + ".bad");
+            try {
+                Files.move(file, aside, StandardCopyOption.REPLACE_EXISTING);
+                System.err.println("Not a leaderboard file, moved to " + aside);
+            } catch (IOException e) {
+                System.err.println("Not a leaderboard file and could not move it aside: " + e.getMessage());
+                writable = false;
+            }
+            return false;
+        }
+        sorted.sort(RANKING);
+        refreshCache();
+        return true;
+    }
+
+    public synchronized void record(LeaderboardEntry entry) {
+        /*
+         * Insert the entry into the in-memory ranking and hand the record to the writer.
+         */
+        int index = Collections.binarySearch(sorted, entry, RANKING);
+        sorted.add(index < 0 ? -index - 1 : index, entry);
+        refreshCache();
+        if (writable) store.append(file, encode(entry));
+    }
+
+    private void refreshCache() {
+        topEntries = List.copyOf(sorted.subList(0, Math.min(TOP_N, sorted.size())));
+        highScore = sorted.isEmpty() ? 0 : sorted.get(0).score();
+    }
+
+    private static byte[] encode(LeaderboardEntry e) {
+        ByteBuffer buf = ByteBuffer.allocate(RECORD_SIZE);
+        buf.putInt(e.score()).putInt(e.lines()).putInt(e.level())
+                .putLong(e.durationMillis()).putLong(e.seed()).putLong(e.timestamp());
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), 0, PAYLOAD_SIZE);
+        buf.putInt((int) crc.getValue());
+        return buf.array();
+    }
+
+    public int getHighScore() {
+        return highScore;
+    }
+
+    public List<LeaderboardEntry> getTopEntries() {
+        return topEntries;
+    }
+
+    public synchronized int size() {
+        return sorted.size();
+    }
+}
@@ -0,0 +1,7 @@
+package tetris.group__25.score;
+
+/**
+ * One finished game as stored on the leaderboard.
+ */
+public record LeaderboardEntry(int score, int lines, int level, long durationMillis, long seed, long timestamp) {
+}
@@ -0,0 +1,225 @@
+package tetris.group__25.score;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Scoring and gravity rules, read from a properties definition and compiled into flat
+ * lookup tables. {@link ScoreSystem} only indexes these tables while playing; all parsing
+ * and curve evaluation happens once, here.
+ *
+ * A definition only needs the keys it changes; everything else falls back to the classic
+ * rules (40/100/300/1200 times level + 1, a level every 10 lines, gravity from 1 s down to
+ * 0.1 s in 0.1 s steps, half a second of lock delay with 15 move resets and no other
+ * delays). Delays are in simulation ticks at 60 Hz. Gravity is compiled to fixed-point
+ * cells per tick, so anything from one row every few seconds up to 20G (a piece lands
+ * the tick it appears) is the same addition. Bundled variants live next to this class
+ * in {@code rules/}.
+ */
+public final class Ruleset {
+    public static final int TICKS_PER_SECOND = 60;
+    public static final int GRAVITY_ONE = 1 << 16; // one cell per tick in the gravity tables
+    static final int MAX_G = 20;                   // the board height: instant drop
+    static final int MAX_LINES = 4;
+    static final int CLEAR_SLOTS = MAX_LINES + 1;
+    private static final String[] SPIN_KEYS = {"clear.none", "clear.mini", "clear.full", "clear.all"};
+
+    private final String name;
+    private final int[] clearPoints;   // [spin * CLEAR_SLOTS + lines]
+    private final int[] backToBackPoints;
+    private final boolean[] difficult; // continues a back-to-back chain
+    private final int[] comboPoints;   // [min(combo, cap)]
+    private final int[] levelFactor;   // [level]
+    private final int[] levelForLines; // [min(totalLines, cap)]
+    private final int[] gravity;       // [level], cells per tick in 16.16 fixed point
+    private final int softDropPoints, hardDropPoints;
+    private final int spawnDelay, entryDelay, lineClearDelay, lockDelay, lockResets; // ticks
+
+    private Ruleset(String name, Properties p) {
+        this.name = p.getProperty("name", name);
+        int maxLevel = intValue(p, "level.max", 99);
+        int startLevel = intValue(p, "level.start", 0);
+        int linesPerLevel = Math.max(1, intValue(p, "level.linesPerLevel", 10));
+
+        clearPoints = new int[SPIN_KEYS.length * CLEAR_SLOTS];
+        for (SpinType spin : SpinType.values()) {
+            String fallback = spin == SpinType.NONE ? "0,40,100,300,1200" : null;
+            int[] row = intList(p, SPIN_KEYS[spin.ordinal()], fallback);
+            System.arraycopy(row, 0, clearPoints, spin.ordinal() * CLEAR_SLOTS, Math.min(row.length, CLEAR_SLOTS));
+        }
+        // Spins without their own table score like plain clears; all-spins like minis
+        for (int spin = 1; spin < SPIN_KEYS.length; spin++) {
+            if (p.getProperty(SPIN_KEYS[spin]) == null) {
+                int fallback = spin == SpinType.ALL.ordinal() ? SpinType.MINI.ordinal() : 0;
+                System.arraycopy(clearPoints, fallback * CLEAR_SLOTS, clearPoints, spin * CLEAR_SLOTS, CLEAR_SLOTS);
+            }
+        }
+
+        int b2bPercent = intValue(p, "backToBack.percent", 100);
+        difficult = new boolean[clearPoints.length];
+        backToBackPoints = new int[clearPoints.length];
+        for (int i = 0; i < clearPoints.length; i++) {
+            int lines = i % CLEAR_SLOTS;
+            boolean spin = i >= CLEAR_SLOTS;
+            difficult[i] = lines == MAX_LINES || (spin && lines > 0);
+            backToBackPoints[i] = difficult[i] ? clearPoints[i] * b2bPercent / 100 : clearPoints[i];
+        }
+
+        int comboBonus = intValue(p, "combo.bonus", 0);
+        comboPoints = new int[intValue(p, "combo.cap", 20) + 1];
+        for (int c = 0; c < comboPoints.length; c++) {
+            comboPoints[c] = comboBonus * c;
+        }
+
+        boolean multiply = Boolean.parseBoolean(p.getProperty("level.multiplier", "true"));
+        levelFactor = new int[maxLevel + 1];
+        for (int level = 0; level <= maxLevel; level++) {
+            levelFactor[level] = multiply ? level + 1 : 1;
+        }
+
+        levelForLines = new int[(maxLevel - startLevel) * linesPerLevel + 1];
+        for (int lines = 0; lines < levelForLines.length; lines++) {
+            levelForLines[lines] = startLevel + lines / linesPerLevel;
+        }
+
+        gravity = compileGravity(p, maxLevel);
+        softDropPoints = intValue(p, "drop.soft", 0);
+        hardDropPoints = intValue(p, "drop.hard", 0);
+        spawnDelay = Math.max(0, intValue(p, "delay.spawn", 0));
+        entryDelay = Math.max(0, intValue(p, "delay.entry", 0));
+        lineClearDelay = Math.max(0, intValue(p, "delay.lineClear", 0));
+        lockDelay = Math.max(0, intValue(p, "delay.lock", 30));
+        lockResets = Math.max(0, intValue(p, "lock.resets", 15));
+    }
+
+    private static int[] compileGravity(Properties p, int maxLevel) {
+        /*
+         * Evaluate the curve as seconds per row for each level, then store it as the
+         * fraction of a cell the piece falls per tick, capped at gravity.maxG rows.
+         */
+        double[] secondsPerRow = new double[maxLevel + 1];
+        String curve = p.getProperty("gravity.curve", "linear").trim().toLowerCase(Locale.ROOT);
+        switch (curve) {
+            case "table" -> {
+                // Explicit milliseconds per row; the last entry repeats for higher levels
+                int[] millis = intList(p, "gravity.table", "1000");
+                for (int level = 0; level <= maxLevel; level++) {
+                    secondsPerRow[level] = millis[Math.min(level, millis.length - 1)] / 1000.0;
+                }
+            }
+            case "guideline" -> {
+                // (0.8 - (n - 1) * 0.007)^(n - 1) seconds per row, n = level + 1
+                for (int level = 0; level <= maxLevel; level++) {
+                    secondsPerRow[level] = Math.pow(Math.max(0, 0.8 - level * 0.007), level);
+                }
+            }
+            case "linear" -> {
+                long start = intValue(p, "gravity.startMillis", 1000);
+                long step = intValue(p, "gravity.stepMillis", 100);
+                long min = intValue(p, "gravity.minMillis", 100);
+                for (int level = 0; level <= maxLevel; level++) {
+                    secondsPerRow[level] = Math.max(min, start - step * level) / 1000.0;
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown gravity curve: " + curve);
+        }
+        double maxG = Math.min(MAX_G, Double.parseDouble(p.getProperty("gravity.maxG", "20").trim()));
+        int[] table = new int[maxLevel + 1];
+        for (int level = 0; level <= maxLevel; level++) {
+            double cellsPerTick = secondsPerRow[level] <= 0 ? maxG : 1.0 / (secondsPerRow[level] * TICKS_PER_SECOND);
+            table[level] = (int) Math.max(1, Math.ceil(Math.min(cellsPerTick, maxG) * GRAVITY_ONE));
+        }
+        return table;
+    }
+
+    private static int intValue(Properties p, String key, int fallback) {
+        String value = p.getProperty(key);
+        return value == null ? fallback : Integer.parseInt(value.trim());
+    }
+
+    private static int[] intList(Properties p, String key, String fallback) {
+        String value = p.getProperty(key, fallback);
+        if (value == null) return new int[0];
+        return Arrays.stream(value.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+
+    public static Ruleset classic() {
+        return new Ruleset("classic", new Properties());
+    }
+
+    public static Ruleset fromProperties(String name, Properties properties) {
+        return new Ruleset(name, properties);
+    }
+
+    public static Ruleset load(String nameOrPath) throws IOException {
+        // A path to a .properties file, or the name of a bundled ruleset
+        Properties p = new Properties();
+        Path file = Path.of(nameOrPath);
+        if (Files.isRegularFile(file)) {
+            try (Reader in = Files.newBufferedReader(file)) {
+                p.load(in);
+            }
+            return new Ruleset(file.getFileName().toString().replace(".properties", ""), p);
+        }
+        try (InputStream in = Ruleset.class.getResourceAsStream("rules/" + nameOrPath + ".properties")) {
+            if (in == null) throw new IOException("No such ruleset: " + nameOrPath);
+            p.load(in);
+        }
+        return new Ruleset(nameOrPath, p);
+    }
+
+    public static Ruleset fromSystemProperties() {
+        String name = System.getProperty("tetris.rules", "classic");
+        try {
+            return load(name);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not load ruleset " + name + ", using classic rules: " + e.getMessage());
+            return classic();
+        }
+    }
+
+    static int clearIndex(SpinType spin, int lines) {
+        return spin.ordinal() * CLEAR_SLOTS + Math.min(lines, MAX_LINES);
+    }
+
+    int clearPoints(int index, boolean backToBack) {
+        return backToBack ? backToBackPoints[index] : clearPoints[index];
+    }
+
+    boolean isDifficult(int index) {
+        return difficult[index];
+    }
+
+    int comboPoints(int combo) {
+        return comboPoints[Math.min(combo, comboPoints.length - 1)];
+    }
+
+    int levelFactor(int level) {
+        return levelFactor[Math.min(level, levelFactor.length - 1)];
+    }
+
+    int levelForLines(int totalLines) {
+        return levelForLines[Math.min(totalLines, levelForLines.length - 1)];
+    }
+
+    public int gravity(int level) {
+        // Cells per tick in 16.16 fixed point; GRAVITY_ONE is 1G
+        return gravity[Math.min(level, gravity.length - 1)];
+    }
+
+    public int getSoftDropPoints() { return softDropPoints; }
+    public int getHardDropPoints() { return hardDropPoints; }
+    public int getStartLevel() { return levelForLines[0]; }
+    public int getSpawnDelay() { return spawnDelay; }
+    public int getEntryDelay() { return entryDelay; }
+    public int getLineClearDelay() { return lineClearDelay; }
+    public int getLockDelay() { return lockDelay; }
+    public int getLockResets() { return lockResets; }
+    public String getName() { return name; }
+}
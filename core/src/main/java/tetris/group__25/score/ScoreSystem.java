@@ -0,0 +1,87 @@
+package tetris.group__25.score;
+
+public class ScoreSystem {
+    private final Ruleset rules;
+    private int score;
+    private int totalLines;
+    private int level;
+    private int combo;
+    private boolean backToBack;
+
+    public ScoreSystem() {
+        this(Ruleset.classic());
+    }
+
+    public ScoreSystem(Ruleset rules) {
+        this.rules = rules;
+        reset();
+    }
+
+    public void addClear(int linesCleared) {
+        addLock(linesCleared, SpinType.NONE);
+    }
+
+    public void addLock(int linesCleared, SpinType spin) {
+        /*
+         * Score one locked piece. Points, back-to-back bonus, combo bonus and the level
+         * multiplier are all table lookups compiled from the ruleset.
+         */
+        int index = Ruleset.clearIndex(spin, linesCleared);
+        int points = rules.clearPoints(index, backToBack && rules.isDifficult(index));
+        if (linesCleared > 0) {
+            combo++;
+            points += rules.comboPoints(combo);
+            backToBack = rules.isDifficult(index);
+        } else {
+            combo = -1;
+        }
+        score += points * rules.levelFactor(level);
+        totalLines += linesCleared;
+        level = Math.max(level, rules.levelForLines(totalLines));
+    }
+
+    public void addSoftDrop(int cells) {
+        score += cells * rules.getSoftDropPoints();
+    }
+
+    public void addHardDrop(int cells) {
+        score += cells * rules.getHardDropPoints();
+    }
+
+    public void reset() {
+        score = 0;
+        totalLines = 0;
+        level = rules.getStartLevel();
+        combo = -1;
+        backToBack = false;
+    }
+
+    public long saveState() {
+        /*
+         * Everything that changes while playing, packed into one long for undo records:
+         * score in the high 32 bits, then 24 bits of lines, 7 of combo and the
+         * back-to-back flag. The level follows from the lines.
+         */
+        return (long) score << 32 | (long) (totalLines & 0xFFFFFF) << 8 | Math.min(combo + 1, 0x7F) << 1 | (backToBack ? 1 : 0);
+    }
+
+    public void restoreState(long state) {
+        score = (int) (state >>> 32);
+        totalLines = (int) (state >>> 8) & 0xFFFFFF;
+        combo = ((int) (state >>> 1) & 0x7F) - 1;
+        backToBack = (state & 1) != 0;
+        level = rules.levelForLines(totalLines);
+    }
+
+    public int getGravity() {
+        // Cells per tick at the current level, 16.16 fixed point
+        return rules.gravity(level);
+    }
+
+    public int getScore() { return score; }
+    public int getLevel() { return level; }
+    public int getTotalLines() { return totalLines; }
+    public int getCombo() { return Math.max(combo, 0); }
+    public boolean isBackToBack() { return backToBack; }
+    public Ruleset getRuleset() { return rules; }
+}
@@ -0,0 +1,68 @@
+package tetris.group__25.score;
+
+import tetris.group__25.persist.DataFiles;
+import tetris.group__25.persist.WriteBehindStore;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Totals for the current play session. A snapshot is persisted after every game
+ * (coalesced by the store) and a summary line is appended to the session log at exit.
+ */
+public class SessionStats {
+    private static final String CSV_HEADER =
+            "start,end,games,playTimeMillis,totalScore,bestScore,totalLines\n";
+
+    private final WriteBehindStore store;
+    private final Path snapshotFile;
+    private final Path logFile;
+    private final long sessionStart = System.currentTimeMillis();
+    private int games;
+    private long playTimeMillis;
+    private long totalScore;
+    private int bestScore;
+    private long totalLines;
+
+    public SessionStats(WriteBehindStore store) {
+        this(store, DataFiles.resolve("session.properties"), DataFiles.resolve("sessions.csv"));
+    }
+
+    public SessionStats(WriteBehindStore store, Path snapshotFile, Path logFile) {
+        this.store = store;
+        this.snapshotFile = snapshotFile;
+        this.logFile = logFile;
+        if (!Files.exists(logFile)) {
+            store.append(logFile, CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    public void gameFinished(LeaderboardEntry entry) {
+        games++;
+        playTimeMillis += entry.durationMillis();
+        totalScore += entry.score();
+        bestScore = Math.max(bestScore, entry.score());
+        totalLines += entry.lines();
+        store.replace(snapshotFile, snapshot().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String snapshot() {
+        return "sessionStart=" + sessionStart + "\n"
+                + "games=" + games + "\n"
+                + "playTimeMillis=" + playTimeMillis + "\n"
+                + "totalScore=" + totalScore + "\n"
+                + "bestScore=" + bestScore + "\n"
+                + "totalLines=" + totalLines + "\n";
+    }
+
+    public void endSession() {
+        String line = sessionStart + "," + System.currentTimeMillis() + "," + games + ","
+                + playTimeMillis + "," + totalScore + "," + bestScore + "," + totalLines + "\n";
+        store.append(logFile, line.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int getGames() { return games; }
+    public long getPlayTimeMillis() { return playTimeMillis; }
+    public int getBestScore() { return bestScore; }
+}
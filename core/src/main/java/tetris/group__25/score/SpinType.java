@@ -0,0 +1,9 @@
+package tetris.group__25.score;
+
+public enum SpinType {
+    // How the locking piece got into place; indexes the ruleset's clear tables.
+    NONE,
+    MINI,
+    FULL,
+    ALL   // a non-T piece rotated into a spot it cannot slide out of
+}
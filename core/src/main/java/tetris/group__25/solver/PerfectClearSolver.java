@@ -0,0 +1,305 @@
+package tetris.group__25.solver;
+
+import tetris.group__25.engine.Board;
+import tetris.group__25.tetromino.Piece;
+import tetris.group__25.tetromino.PieceType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Finds a perfect clear (every filled cell cleared) within a known piece sequence, with
+ * hold. Only the bottom rows matter: a perfect clear of height h needs exactly the empty
+ * cells of those rows to be filled, so the field is a long of 10-bit rows (at most six)
+ * and the number of pieces is fixed by the cell count.
+ *
+ * The search is depth first over hard-drop placements, with two cheap prunes at every
+ * node: enough pieces left for the empty cells, and column parity (cells in even minus
+ * odd columns, which line clears do not change) within what the remaining I, T, L and J
+ * pieces can make up. Positions that failed are remembered per (queue index, hold) so
+ * the many move orders that lead to the same field are searched once. The first levels
+ * are split across the fork/join pool; all branches share the memo and stop as soon as
+ * one finds a solution.
+ */
+public final class PerfectClearSolver {
+    public static final int MAX_HEIGHT = 6;
+    private static final int WIDTH = 10;
+    private static final long ROW = (1L << WIDTH) - 1;
+    private static final long EVEN_COLUMNS;
+    private static final int SPLIT_DEPTH = 2; // levels searched in parallel
+    private static final Shape[][] SHAPES = new Shape[8][]; // [colour code], distinct placements
+
+    static {
+        long even = 0;
+        for (int y = 0; y < MAX_HEIGHT; y++) {
+            even |= 0b0101010101L << (y * WIDTH);
+        }
+        EVEN_COLUMNS = even;
+        for (PieceType type : PieceType.values()) {
+            SHAPES[type.getCode()] = shapes(type);
+        }
+    }
+
+    /** A rotation and column of a piece as a bottom-aligned mask (lowest cell in row 0). */
+    private record Shape(long mask, int height, int rotation, int x, int lowestRow) { }
+
+    private final ForkJoinPool pool;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder nodes = new LongAdder();
+
+    public PerfectClearSolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public PerfectClearSolver(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    private static Shape[] shapes(PieceType type) {
+        List<Shape> shapes = new ArrayList<>();
+        List<Long> seen = new ArrayList<>();
+        for (int rotation = 0; rotation < 4; rotation++) {
+            int[][] shape = type.getShape(rotation);
+            int top = shape.length, bottom = -1;
+            for (int r = 0; r < shape.length; r++) {
+                for (int c = 0; c < shape[r].length; c++) {
+                    if (shape[r][c] != 0) {
+                        top = Math.min(top, r);
+                        bottom = Math.max(bottom, r);
+                    }
+                }
+            }
+            for (int x = -2; x < WIDTH; x++) {
+                long mask = 0;
+                boolean inside = true;
+                for (int r = 0; r < shape.length; r++) {
+                    for (int c = 0; c < shape[r].length; c++) {
+                        if (shape[r][c] == 0) continue;
+                        if (x + c < 0 || x + c >= WIDTH) inside = false;
+                        else mask |= 1L << ((bottom - r) * WIDTH + x + c);
+                    }
+                }
+                // I, S and Z cover the same cells in opposite rotations; O in all four
+                if (inside && !seen.contains(mask)) {
+                    seen.add(mask);
+                    shapes.add(new Shape(mask, bottom - top + 1, rotation, x, bottom));
+                }
+            }
+        }
+        return shapes.toArray(new Shape[0]);
+    }
+
+    public int[] solve(Board board, int maxPieces) {
+        /*
+         * Look for a perfect clear from the board as it stands, using the piece in play,
+         * the hold piece and the visible queue.
+         */
+        PieceType hold = board.getHoldPiece() != null ? board.getHoldPiece().type() : null;
+        return solve(rowsFromBottom(board), queue(board), hold, maxPieces);
+    }
+
+    public CompletableFuture<int[]> solveAsync(Board board, int maxPieces) {
+        /*
+         * The board and the generation are read now, on the calling thread; the search runs
+         * in the pool. A cancel() issued while the search is still queued abandons it too.
+         */
+        int[] rows = rowsFromBottom(board);
+        PieceType[] queue = queue(board);
+        PieceType hold = board.getHoldPiece() != null ? board.getHoldPiece().type() : null;
+        long gen = generation.get();
+        return CompletableFuture.supplyAsync(() -> solve(rows, queue, hold, maxPieces, gen), pool);
+    }
+
+    private static int[] rowsFromBottom(Board board) {
+        int[] rows = new int[20];
+        for (int y = 0; y < 20; y++) {
+            rows[19 - y] = board.getRowMask(y);
+        }
+        return rows;
+    }
+
+    private static PieceType[] queue(Board board) {
+        List<PieceType> queue = new ArrayList<>();
+        if (board.getCurrentPiece() != null) queue.add(board.getCurrentPiece().type());
+        board.getNextPieces(3).forEach(t -> queue.add(t.type()));
+        return queue.toArray(new PieceType[0]);
+    }
+
+    public int[] solve(int[] rowsFromBottom, PieceType[] queue, PieceType hold, int maxPieces) {
+        /*
+         * Returns the placements of the shortest perfect clear found, as packed Pieces in
+         * board coordinates (each one on the board left by the ones before it), or null if
+         * there is none within maxPieces. A placement of a piece other than the one in play
+         * means hold was used first.
+         */
+        return solve(rowsFromBottom, queue, hold, maxPieces, generation.get());
+    }
+
+    private int[] solve(int[] rowsFromBottom, PieceType[] queue, PieceType hold, int maxPieces, long gen) {
+        if (generation.get() != gen) return null;
+        int filled = 0, stack = 0, y = 0;
+        long field = 0;
+        for (int mask : rowsFromBottom) {
+            int row = mask & (int) ROW;
+            if (row == ROW) continue; // already cleared, waiting to collapse
+            if (row != 0) {
+                if (y >= MAX_HEIGHT) return null;
+                filled += Integer.bitCount(row);
+                stack = y + 1;
+                field |= (long) row << (y * WIDTH);
+            }
+            y++;
+        }
+        int[] codes = new int[queue.length];
+        for (int i = 0; i < queue.length; i++) {
+            codes[i] = queue[i].getCode();
+        }
+        int available = queue.length + (hold != null ? 1 : 0);
+        for (int height = Math.max(stack, 1); height <= MAX_HEIGHT; height++) {
+            int empty = height * WIDTH - filled;
+            if (empty % 4 != 0) continue;
+            if (empty / 4 > Math.min(maxPieces, available)) break;
+            Search search = new Search(codes, gen);
+            long start = field;
+            int holdCode = hold != null ? hold.getCode() : 0;
+            int rows = height;
+            int[] found = pool.invoke(ForkJoinTask.adapt(() -> search.root(start, rows, holdCode)));
+            if (found != null) return found;
+            if (generation.get() != gen) return null;
+        }
+        return null;
+    }
+
+    public void cancel() {
+        // Abandon every search in progress; they return null
+        generation.incrementAndGet();
+    }
+
+    public long getNodes() { return nodes.sum(); }
+
+    private final class Search {
+        private final int[] queue;
+        private final long gen;
+        private final Set<Long>[] failed; // [index * 8 + hold]: field | height << 60
+        private final AtomicReference<int[]> solution = new AtomicReference<>();
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Search(int[] queue, long gen) {
+            this.queue = queue;
+            this.gen = gen;
+            this.failed = new Set[(queue.length + 1) * 8];
+            for (int i = 0; i < failed.length; i++) {
+                failed[i] = ConcurrentHashMap.newKeySet();
+            }
+        }
+
+        int[] root(long field, int height, int hold) {
+            int pieces = (height * WIDTH - Long.bitCount(field)) / 4;
+            search(field, height, 0, hold, new int[pieces], 0);
+            return solution.get();
+        }
+
+        private boolean search(long field, int height, int index, int hold, int[] path, int depth) {
+            if (solution.get() != null || generation.get() != gen) return false;
+            if (height == 0) {
+                solution.compareAndSet(null, path.clone());
+                return true;
+            }
+            nodes.increment();
+            Set<Long> memo = failed[index * 8 + hold];
+            long key = field | (long) height << 60;
+            if (memo.contains(key) || !feasible(field, height, index, hold)) return false;
+
+            // The piece to place and the queue after it: the piece in play, swapping it
+            // with the held piece, or holding it and taking the next one
+            List<long[]> children = depth < SPLIT_DEPTH ? new ArrayList<>() : null;
+            for (int option = 0; option < 3; option++) {
+                int piece, nextIndex, nextHold;
+                if (option == 0 && index < queue.length) {
+                    piece = queue[index]; nextIndex = index + 1; nextHold = hold;
+                } else if (option == 1 && hold != 0 && index < queue.length && hold != queue[index]) {
+                    piece = hold; nextIndex = index + 1; nextHold = queue[index];
+                } else if (option == 2 && hold == 0 && index + 1 < queue.length) {
+                    piece = queue[index + 1]; nextIndex = index + 2; nextHold = queue[index];
+                } else {
+                    continue;
+                }
+                for (Shape shape : SHAPES[piece]) {
+                    int y = drop(field, height, shape);
+                    if (y < 0) continue;
+                    long placed = field | shape.mask << (y * WIDTH);
+                    int placement = Piece.of(PieceType.fromCode(piece), shape.rotation, shape.x,
+                            19 - y - shape.lowestRow);
+                    if (children != null) {
+                        children.add(new long[] {placed, height, nextIndex, nextHold, placement});
+                        continue;
+                    }
+                    path[depth] = placement;
+                    if (descend(placed, height, nextIndex, nextHold, path, depth)) return true;
+                }
+            }
+            if (children != null) {
+                // Near the root: hand the branches to the pool, each with its own path
+                boolean found = children.parallelStream().anyMatch(c -> {
+                    int[] branch = path.clone();
+                    branch[depth] = (int) c[4];
+                    return descend(c[0], (int) c[1], (int) c[2], (int) c[3], branch, depth);
+                });
+                if (found) return true;
+            }
+            if (solution.get() == null && generation.get() == gen) memo.add(key);
+            return false;
+        }
+
+        private boolean descend(long placed, int height, int index, int hold, int[] path, int depth) {
+            // Remove full rows, then go one placement deeper
+            for (int row = height - 1; row >= 0; row--) {
+                if ((placed >>> (row * WIDTH) & ROW) == ROW) {
+                    long below = placed & ((1L << (row * WIDTH)) - 1);
+                    placed = below | placed >>> ((row + 1) * WIDTH) << (row * WIDTH);
+                    height--;
+                }
+            }
+            return search(placed, height, index, hold, path, depth + 1);
+        }
+
+        private boolean feasible(long field, int height, int index, int hold) {
+            long empty = ~field & ((1L << (height * WIDTH)) - 1);
+            int needed = Long.bitCount(empty) / 4;
+            int left = queue.length - index + (hold != 0 ? 1 : 0);
+            if (needed > left) return false;
+            // Line clears only move cells down, so the column parity of the empty cells
+            // must be made up by pieces that cover unequal even and odd columns
+            int parity = Math.abs(Long.bitCount(empty & EVEN_COLUMNS) - Long.bitCount(empty & ~EVEN_COLUMNS));
+            int reach = parityReach(hold);
+            for (int i = index; i < queue.length && i <= index + needed; i++) {
+                reach += parityReach(queue[i]);
+            }
+            return parity <= reach;
+        }
+
+        private int parityReach(int code) {
+            if (code == PieceType.I.getCode()) return 4;
+            if (code == PieceType.T.getCode() || code == PieceType.L.getCode() || code == PieceType.J.getCode()) return 2;
+            return 0;
+        }
+
+        private int drop(long field, int height, Shape shape) {
+            // Lowest row the shape reaches falling from above the field, or -1 if it comes
+            // to rest sticking out above the perfect clear height
+            int y = height;
+            while (y > 0 && (shape.mask << ((y - 1) * WIDTH) & field) == 0) {
+                y--;
+            }
+            return y + shape.height <= height ? y : -1;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package tetris.group__25.solver;
+
+import tetris.group__25.engine.Board;
+import tetris.group__25.scenario.Scenario;
+import tetris.group__25.tetromino.PieceType;
+import tetris.group__25.tetromino.TetrominoFactory;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Times the perfect clear solver over a fixed set of positions: an empty board with the
+ * first pieces of several seeded bag sequences, and the bundled perfect clear scenario.
+ * Each round runs every position once; the first round is warm-up.
+ *
+ * <pre>
+ * SolverBenchmark [--rounds N] [--pieces N] [--threads N]
+ * </pre>
+ */
+public final class SolverBenchmark {
+    private static final int SEEDS = 12;
+
+    private SolverBenchmark() { }
+
+    public static void main(String[] args) throws IOException {
+        int rounds = 3;
+        int pieces = 10;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--rounds" -> rounds = Integer.parseInt(args[i + 1]);
+                case "--pieces" -> pieces = Integer.parseInt(args[i + 1]);
+                case "--threads" -> threads = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        Board scenarioBoard = new Board();
+        scenarioBoard.load(Scenario.load("perfect-clear"));
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        PerfectClearSolver solver = new PerfectClearSolver(pool);
+        System.out.printf(Locale.ROOT, "%d positions, up to %d pieces, %d threads%n", SEEDS + 1, pieces, threads);
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            long nodesBefore = solver.getNodes();
+            int solved = 0;
+            for (int seed = 1; seed <= SEEDS; seed++) {
+                // Empty board, the next pieces plus one for hold
+                TetrominoFactory factory = new TetrominoFactory(seed);
+                PieceType[] queue = new PieceType[pieces + 1];
+                for (int i = 0; i < queue.length; i++) {
+                    queue[i] = factory.nextPiece();
+                }
+                if (solver.solve(new int[0], queue, null, pieces) != null) solved++;
+            }
+            if (solver.solve(scenarioBoard, pieces) != null) solved++;
+            double millis = (System.nanoTime() - start) / 1e6;
+            long nodes = solver.getNodes() - nodesBefore;
+            System.out.printf(Locale.ROOT, "round %d%s: %d/%d solved, %.1f ms, %d nodes, %.0f nodes/s%n",
+                    round + 1, round == 0 ? " (warm-up)" : "", solved, SEEDS + 1, millis, nodes, nodes / (millis / 1000));
+        }
+        pool.shutdown();
+    }
+}
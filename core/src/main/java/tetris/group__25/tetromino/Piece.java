@@ -0,0 +1,31 @@
+package tetris.group__25.tetromino;
+
+/**
+ * A piece in play packed into a single int: colour code in bits 24-27, rotation state in
+ * bits 16-17 and signed x and y bytes below, so positions can be stored, copied and
+ * compared without allocating. {@link #NONE} (0) means no piece.
+ */
+public final class Piece {
+    public static final int NONE = 0;
+
+    private Piece() {
+    }
+
+    public static int of(PieceType type, int rotation, int x, int y) {
+        return type.getCode() << 24 | (rotation & 3) << 16 | (x & 0xFF) << 8 | (y & 0xFF);
+    }
+
+    public static PieceType type(int piece) { return PieceType.fromCode(code(piece)); }
+    public static int code(int piece) { return piece >>> 24 & 0xF; }
+    public static int rotation(int piece) { return piece >>> 16 & 3; }
+    public static int x(int piece) { return (byte) (piece >>> 8); }
+    public static int y(int piece) { return (byte) piece; }
+
+    public static int withX(int piece, int x) { return piece & ~0xFF00 | (x & 0xFF) << 8; }
+    public static int withY(int piece, int y) { return piece & ~0xFF | (y & 0xFF); }
+    public static int withRotation(int piece, int rotation) { return piece & ~0x30000 | (rotation & 3) << 16; }
+
+    public static int[] rowMasks(int piece) {
+        return type(piece).getRowMasks(rotation(piece));
+    }
+}
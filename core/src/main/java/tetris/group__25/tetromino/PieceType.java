@@ -0,0 +1,117 @@
+package tetris.group__25.tetromino;
+
+import java.util.Arrays;
+
+/**
+ * The seven tetrominoes. Each type owns its four SRS rotation states and a bit mask per
+ * row, computed once when the enum is initialised and shared by every piece of that type,
+ * so a piece itself only needs to remember its type, rotation and position.
+ */
+public enum PieceType {
+    I(1, new int[][] {
+            {0,0,0,0},
+            {1,1,1,1},
+            {0,0,0,0},
+            {0,0,0,0}
+    }),
+    J(2, new int[][] {
+            {2,0,0},
+            {2,2,2},
+            {0,0,0}
+    }),
+    L(3, new int[][] {
+            {0,0,3},
+            {3,3,3},
+            {0,0,0}
+    }),
+    O(4, new int[][] {
+            {4,4},
+            {4,4}
+    }),
+    S(5, new int[][] {
+            {0,5,5},
+            {5,5,0},
+            {0,0,0}
+    }),
+    T(6, new int[][] {
+            {0,6,0},
+            {6,6,6},
+            {0,0,0}
+    }),
+    Z(7, new int[][] {
+            {7,7,0},
+            {0,7,7},
+            {0,0,0}
+    });
+
+    private static final PieceType[] BY_CODE = new PieceType[8];
+
+    static {
+        for (PieceType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final int code;
+    private final int[][][] rotations;
+    private final int[][] rowMasks;
+    private final int[][] columnBottoms;
+
+    PieceType(int code, int[][] spawnShape) {
+        /*
+         * All four rotation states (clockwise turns of the bounding box) and, for each,
+         * bit c of row mask r set when cell (r, c) is filled.
+         */
+        this.code = code;
+        rotations = new int[4][][];
+        rowMasks = new int[4][];
+        columnBottoms = new int[4][];
+        rotations[0] = spawnShape;
+        for (int s = 1; s < 4; s++) {
+            int[][] prev = rotations[s - 1];
+            int[][] rotated = new int[prev[0].length][prev.length];
+            for (int r = 0; r < prev.length; r++) {
+                for (int c = 0; c < prev[r].length; c++) {
+                    rotated[c][prev.length - 1 - r] = prev[r][c];
+                }
+            }
+            rotations[s] = rotated;
+        }
+        for (int s = 0; s < 4; s++) {
+            rowMasks[s] = new int[rotations[s].length];
+            columnBottoms[s] = new int[rotations[s].length];
+            Arrays.fill(columnBottoms[s], -1);
+            for (int r = 0; r < rotations[s].length; r++) {
+                for (int c = 0; c < rotations[s][r].length; c++) {
+                    if (rotations[s][r][c] != 0) {
+                        rowMasks[s][r] |= 1 << c;
+                        columnBottoms[s][c] = r;
+                    }
+                }
+            }
+        }
+    }
+
+    public static PieceType fromCode(int code) {
+        // The type for a colour code 1-7, or null for empty cells and garbage
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+
+    public int getCode() { return code; }
+    public int getSize() { return rotations[0].length; }
+
+    public int[][] getShape(int state) {
+        // Shared, read-only: cell values are the colour code, 0 where empty.
+        return rotations[state & 3];
+    }
+
+    public int[] getRowMasks(int state) {
+        // Shared, read-only: bit c of entry r is set when cell (r, c) of that state is filled.
+        return rowMasks[state & 3];
+    }
+
+    public int[] getColumnBottoms(int state) {
+        // Shared, read-only: the lowest filled row of each column in that state, -1 if empty.
+        return columnBottoms[state & 3];
+    }
+}
@@ -0,0 +1,28 @@
+package tetris.group__25.tetromino;
+
+/**
+ * An immutable view of a piece for code outside the engine: the type's shared shape
+ * tables plus a rotation and position. Colours are the render layer's concern and are
+ * looked up there by {@link #getColorCode()}.
+ */
+public record Tetromino(PieceType type, int rotation, int x, int y) {
+
+    public static Tetromino of(int piece) {
+        // null for Piece.NONE
+        return piece == Piece.NONE ? null
+                : new Tetromino(Piece.type(piece), Piece.rotation(piece), Piece.x(piece), Piece.y(piece));
+    }
+
+    public int packed() { return Piece.of(type, rotation, x, y); }
+    public int getColorCode() { return type.getCode(); }
+    public int getSize() { return type.getSize(); }
+
+    public int[][] getShape() {
+        // Shared, read-only
+        return type.getShape(rotation);
+    }
+
+    public int[] getRowMasks() {
+        return type.getRowMasks(rotation);
+    }
+}
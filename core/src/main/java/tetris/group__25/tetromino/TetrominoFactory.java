@@ -0,0 +1,56 @@
+package tetris.group__25.tetromino;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+public class TetrominoFactory {
+// TetrominoFactory deals piece types from shuffled 7-bags.
+    private static final PieceType[] TYPES = PieceType.values();
+    private final PieceType[] bag = new PieceType[TYPES.length];
+    private int next;
+    private Random random;
+    private final ArrayDeque<PieceType> pushedBack = new ArrayDeque<>(); // undone draws, dealt again first
+
+    public TetrominoFactory() {
+        this(new Random().nextLong());
+    }
+
+    public TetrominoFactory(long seed) {
+        reseed(seed);
+    }
+
+    public void reseed(long seed) {
+        // Restart the piece sequence; the same seed always yields the same bags.
+        random = new Random(seed);
+        pushedBack.clear();
+        refillBag();
+    }
+
+    public PieceType nextPiece() {
+        // Returns the next piece type from the bag, refilling it if necessary.
+        if (!pushedBack.isEmpty()) {
+            return pushedBack.pop();
+        }
+        if (next == bag.length) {
+            refillBag();
+        }
+        return bag[next++];
+    }
+
+    public void pushBack(PieceType type) {
+        // Undo the most recent nextPiece(): the type is dealt again before anything new
+        pushedBack.push(type);
+    }
+
+    private void refillBag() {
+        // Same swaps as Collections.shuffle, so seeded games deal the same sequence as before.
+        System.arraycopy(TYPES, 0, bag, 0, TYPES.length);
+        for (int i = bag.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            PieceType t = bag[i];
+            bag[i] = bag[j];
+            bag[j] = t;
+        }
+        next = 0;
+    }
+}
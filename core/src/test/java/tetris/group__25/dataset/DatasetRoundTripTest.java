@@ -0,0 +1,131 @@
+package tetris.group__25.dataset;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DatasetRoundTripTest {
+    private static final Schema SCHEMA = Schema.of("game", ColumnType.INT, "time", ColumnType.LONG,
+            "stack", ColumnType.FLOAT);
+    private static final int ROWS = 1000;
+    private static final int ROWS_PER_CHUNK = 128;
+
+    @TempDir
+    Path dir;
+
+    private static void writeRows(DatasetWriter writer, int rows) {
+        for (int i = 0; i < rows; i++) {
+            writer.setInt(0, i / 100).setLong(1, 1_000_000_000_000L + i).setFloat(2, i * 0.5f).endRow();
+        }
+    }
+
+    private static void assertRows(DatasetReader reader, long expected) throws IOException {
+        assertEquals(expected, reader.getRowCount());
+        int row = 0;
+        for (int chunk = 0; chunk < reader.getChunkCount(); chunk++) {
+            DatasetReader.Chunk data = reader.readChunk(chunk, 0, 1, 2);
+            for (int i = 0; i < data.rows(); i++, row++) {
+                assertEquals(row / 100, data.ints(0)[i]);
+                assertEquals(1_000_000_000_000L + row, data.longs(1)[i]);
+                assertEquals(row * 0.5f, data.floats(2)[i]);
+            }
+        }
+        assertEquals(expected, row);
+    }
+
+    @Test
+    void writeAndReadBack() throws IOException {
+        Path file = dir.resolve("rows.nds");
+        try (DatasetWriter writer = DatasetWriter.toFile(SCHEMA, file, ROWS_PER_CHUNK)) {
+            writeRows(writer, ROWS);
+        }
+        try (DatasetReader reader = new DatasetReader(file)) {
+            assertEquals(SCHEMA, reader.getSchema());
+            assertEquals((ROWS + ROWS_PER_CHUNK - 1) / ROWS_PER_CHUNK, reader.getChunkCount());
+            assertEquals(0, reader.getMin(0, 0));
+            assertEquals(1, reader.getMax(0, 0));
+            assertRows(reader, ROWS);
+        }
+    }
+
+    @Test
+    void queryFiltersGroupsAndSkipsChunks() throws IOException {
+        Path file = dir.resolve("rows.nds");
+        try (DatasetWriter writer = DatasetWriter.toFile(SCHEMA, file, ROWS_PER_CHUNK)) {
+            writeRows(writer, ROWS);
+        }
+        try (DatasetReader reader = new DatasetReader(file)) {
+            DatasetQuery query = new DatasetQuery(reader).where("game>=8").groupBy("game")
+                    .aggregate("count").aggregate("max:time");
+            List<double[]> rows = query.run();
+            assertEquals(2, rows.size());
+            assertArrayEquals(new double[]{8, 100, 1_000_000_000_899L}, rows.get(0));
+            assertArrayEquals(new double[]{9, 100, 1_000_000_000_999L}, rows.get(1));
+            // Rows 800 and up start in chunk 6; the chunks before cannot match
+            assertEquals(2, query.getScannedChunks());
+        }
+    }
+
+    @Test
+    void columnNamesKeepCharactersOutsideModifiedUtf8() throws IOException {
+        Schema schema = Schema.of("a\u0000b", ColumnType.INT, "lines 😀", ColumnType.INT);
+        Path file = dir.resolve("names.nds");
+        try (DatasetWriter writer = DatasetWriter.toFile(schema, file)) {
+            writer.setInt(0, 1).setInt(1, 2).endRow();
+        }
+        try (DatasetReader reader = new DatasetReader(file)) {
+            assertEquals(schema.names(), reader.getSchema().names());
+        }
+    }
+
+    @Test
+    void fileWithoutFooterKeepsItsCompleteChunks() throws IOException {
+        // A writer that was never closed, as after a crash: header and full chunks only
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DatasetWriter writer = new DatasetWriter(SCHEMA, out::writeBytes, ROWS_PER_CHUNK);
+        writeRows(writer, ROWS);
+        int complete = ROWS / ROWS_PER_CHUNK * ROWS_PER_CHUNK;
+
+        Path file = dir.resolve("unfinished.nds");
+        Files.write(file, out.toByteArray());
+        try (DatasetReader reader = new DatasetReader(file)) {
+            assertEquals(ROWS / ROWS_PER_CHUNK, reader.getChunkCount());
+            assertEquals(Double.NEGATIVE_INFINITY, reader.getMin(0, 0));
+            assertRows(reader, complete);
+            assertEquals(complete, (long) new DatasetQuery(reader).run().get(0)[0]);
+        }
+
+        // A chunk torn halfway through its write is dropped
+        byte[] bytes = out.toByteArray();
+        writer.close();
+        byte[] all = out.toByteArray();
+        int lastChunk = bytes.length;
+        Path torn = dir.resolve("torn.nds");
+        Files.write(torn, Arrays.copyOf(all, lastChunk + (all.length - lastChunk) / 3));
+        try (DatasetReader reader = new DatasetReader(torn)) {
+            assertRows(reader, complete);
+        }
+    }
+
+    @Test
+    void headerOnlyFileIsEmpty() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new DatasetWriter(SCHEMA, out::writeBytes, ROWS_PER_CHUNK);
+        Path file = dir.resolve("empty.nds");
+        Files.write(file, out.toByteArray());
+        try (DatasetReader reader = new DatasetReader(file)) {
+            assertEquals(0, reader.getRowCount());
+            assertTrue(new DatasetQuery(reader).run().isEmpty());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package tetris.group__25.engine;
+
+import org.junit.jupiter.api.Test;
+import tetris.group__25.bot.HeuristicBot;
+import tetris.group__25.bot.Weights;
+import tetris.group__25.score.ScoreSystem;
+import tetris.group__25.tetromino.Tetromino;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardUndoTest {
+    private static final int PIECES = 120;
+
+    @Test
+    void undoRestoresEveryTurnOfABotGame() {
+        Board board = new Board();
+        ScoreSystem score = new ScoreSystem();
+        board.setHistory(PIECES, score::saveState, score::restoreState);
+        board.reset(42);
+        HeuristicBot bot = new HeuristicBot(Weights.DEFAULT);
+
+        List<String> turns = new ArrayList<>();
+        int holds = 0, clears = 0;
+        for (int p = 0; p < PIECES && !board.isGameOver(); p++) {
+            turns.add(snapshot(board, score));
+            if (bot.playPiece(board)) holds++;
+            if (board.getLastLinesCleared() > 0) clears++;
+            score.addLock(board.getLastLinesCleared(), board.getLastSpin());
+            board.completeLineClear();
+        }
+        assertTrue(holds > 0, "the game should use hold");
+        assertTrue(clears > 0, "the game should clear lines");
+        assertEquals(turns.size(), board.getUndoDepth());
+
+        for (int turn = turns.size() - 1; turn >= 0; turn--) {
+            assertTrue(board.undo());
+            assertEquals(turns.get(turn), snapshot(board, score), "after undoing to turn " + turn);
+            assertBitboardsMatchGrid(board);
+        }
+        assertFalse(board.undo());
+    }
+
+    @Test
+    void replayAfterUndoDealsTheSamePieces() {
+        Board board = new Board();
+        ScoreSystem score = new ScoreSystem();
+        board.setHistory(PIECES, score::saveState, score::restoreState);
+        board.reset(7);
+        HeuristicBot bot = new HeuristicBot(Weights.DEFAULT);
+        String start = snapshot(board, score);
+        String end = play(board, score, bot, 40);
+        while (board.undo()) { }
+        assertEquals(start, snapshot(board, score));
+        assertEquals(end, play(board, score, bot, 40));
+    }
+
+    @Test
+    void undoBeforeTheClearCollapsesRestoresTheFullRows() {
+        Board board = new Board();
+        ScoreSystem score = new ScoreSystem();
+        board.setHistory(PIECES, score::saveState, score::restoreState);
+        board.reset(3);
+        HeuristicBot bot = new HeuristicBot(Weights.DEFAULT);
+        String before;
+        do {
+            board.completeLineClear();
+            before = snapshot(board, score);
+            bot.playPiece(board);
+            score.addLock(board.getLastLinesCleared(), board.getLastSpin());
+        } while (!board.isPendingLineClear());
+        assertTrue(board.undo());
+        assertFalse(board.isPendingLineClear());
+        assertEquals(before, snapshot(board, score));
+        assertBitboardsMatchGrid(board);
+    }
+
+    @Test
+    void rewindTurnPutsAHeldPieceBack() {
+        Board board = new Board();
+        board.setHistory(1);
+        board.reset(11);
+        String before = snapshot(board, new ScoreSystem());
+        assertTrue(board.hold());
+        assertTrue(board.rewindTurn());
+        assertEquals(before, snapshot(board, new ScoreSystem()));
+    }
+
+    private static String play(Board board, ScoreSystem score, HeuristicBot bot, int pieces) {
+        for (int p = 0; p < pieces && !board.isGameOver(); p++) {
+            bot.playPiece(board);
+            score.addLock(board.getLastLinesCleared(), board.getLastSpin());
+            board.completeLineClear();
+        }
+        return snapshot(board, score);
+    }
+
+    private static String snapshot(Board board, ScoreSystem score) {
+        int[] rows = new int[20];
+        for (int y = 0; y < 20; y++) rows[y] = board.getRowMask(y);
+        int[] columns = new int[10];
+        for (int x = 0; x < 10; x++) columns[x] = board.getColumnMask(x);
+        List<Object> queue = new ArrayList<>();
+        for (Tetromino t : board.getNextPieces(3)) queue.add(t.type());
+        return Arrays.deepToString(board.getGrid())
+                + " rows " + Arrays.toString(rows)
+                + " columns " + Arrays.toString(columns)
+                + " piece " + board.getCurrentPacked()
+                + " hold " + (board.getHoldPiece() != null ? board.getHoldPiece().type() : null)
+                + " queue " + queue
+                + " locks " + board.getLockCount()
+                + " score " + score.getScore() + "/" + score.getTotalLines() + "/" + score.getLevel()
+                + "/" + score.getCombo() + "/" + score.isBackToBack();
+    }
+
+    private static void assertBitboardsMatchGrid(Board board) {
+        for (int y = 0; y < 20; y++) {
+            int mask = 0;
+            for (int x = 0; x < 10; x++) {
+                if (board.getCell(x, y) != 0) mask |= 1 << x;
+            }
+            assertEquals(mask, board.getRowMask(y), "row " + y);
+        }
+        for (int x = 0; x < 10; x++) {
+            int mask = 0;
+            for (int y = 0; y < 20; y++) {
+                if (board.getCell(x, y) != 0) mask |= 1 << y;
+            }
+            assertEquals(mask, board.getColumnMask(x), "column " + x);
+        }
+    }
+}
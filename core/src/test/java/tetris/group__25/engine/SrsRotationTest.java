@@ -0,0 +1,97 @@
+package tetris.group__25.engine;
+
+import org.junit.jupiter.api.Test;
+import tetris.group__25.scenario.Scenario;
+import tetris.group__25.score.SpinType;
+import tetris.group__25.tetromino.Piece;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SrsRotationTest {
+    // Overhang over a T slot: the slot is only reached by rotating into it
+    private static final String TSD = """
+            pieces = T
+            grid:
+            XXXX......
+            XXX...XXXX
+            XXXX.XXXXX
+            """;
+
+    private static Board load(String scenario) {
+        Board board = new Board();
+        board.load(Scenario.parse("test", scenario));
+        return board;
+    }
+
+    private static void assertPiece(Board board, int rotation, int x, int y) {
+        int piece = board.getCurrentPacked();
+        assertEquals(rotation, Piece.rotation(piece), "rotation");
+        assertEquals(x, Piece.x(piece), "x");
+        assertEquals(y, Piece.y(piece), "y");
+    }
+
+    @Test
+    void tKicksOffTheLeftWall() {
+        Board board = load("pieces = T\ngrid:\n");
+        assertTrue(board.rotate());
+        while (board.moveLeft()) { }
+        assertPiece(board, 1, -1, 0);
+        // R->2 does not fit in place; the second test shifts it one column right
+        assertTrue(board.rotate());
+        assertPiece(board, 2, 0, 0);
+    }
+
+    @Test
+    void iKicksOffTheRightWall() {
+        Board board = load("pieces = I\ngrid:\n");
+        assertTrue(board.rotate());
+        while (board.moveRight()) { }
+        assertPiece(board, 1, 7, 0);
+        assertTrue(board.rotate());
+        assertPiece(board, 2, 6, 0);
+    }
+
+    @Test
+    void tSpinDouble() {
+        Board board = load(TSD);
+        board.rotate();
+        board.dropToGround();
+        assertTrue(board.rotate());
+        assertPiece(board, 2, 3, 17);
+        assertEquals(2, board.lock());
+        assertEquals(SpinType.FULL, board.getLastSpin());
+    }
+
+    @Test
+    void tSpinMiniWhenTheFrontCornersAreOpen() {
+        Board board = load(TSD);
+        board.rotate();
+        board.dropToGround();
+        assertTrue(board.rotateCounterClockwise());
+        assertPiece(board, 0, 3, 17);
+        assertEquals(1, board.lock());
+        assertEquals(SpinType.MINI, board.getLastSpin());
+    }
+
+    @Test
+    void droppingAfterTheRotationIsNoSpin() {
+        Board board = load(TSD);
+        board.rotate();
+        board.rotate();
+        assertTrue(board.dropToGround() > 0);
+        board.lock();
+        assertEquals(SpinType.NONE, board.getLastSpin());
+    }
+
+    @Test
+    void twoCornersAreNoSpin() {
+        // Rotated on the floor: only the two bottom corners are blocked
+        Board board = load("pieces = T\ngrid:\n");
+        board.dropToGround();
+        assertTrue(board.rotate());
+        board.dropToGround();
+        board.lock();
+        assertEquals(SpinType.NONE, board.getLastSpin());
+    }
+}
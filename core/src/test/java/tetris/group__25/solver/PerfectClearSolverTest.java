@@ -0,0 +1,118 @@
+package tetris.group__25.solver;
+
+import org.junit.jupiter.api.Test;
+import tetris.group__25.engine.Board;
+import tetris.group__25.scenario.Scenario;
+import tetris.group__25.tetromino.Piece;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PerfectClearSolverTest {
+    private final PerfectClearSolver solver = new PerfectClearSolver();
+
+    private static Board load(String scenario) {
+        Board board = new Board();
+        board.load(Scenario.parse("test", scenario));
+        return board;
+    }
+
+    private static void replay(Board board, int[] solution) {
+        /*
+         * Play the placements as a player would: hold when the placement is not the piece
+         * in play, turn, shift and hard drop. Each must land exactly where the solver put it.
+         */
+        for (int placement : solution) {
+            if (Piece.type(placement) != Piece.type(board.getCurrentPacked())) {
+                assertTrue(board.hold(), "hold for " + Piece.type(placement));
+            }
+            assertEquals(Piece.type(placement), Piece.type(board.getCurrentPacked()));
+            for (int r = 0; r < Piece.rotation(placement); r++) {
+                assertTrue(board.rotate());
+            }
+            while (Piece.x(board.getCurrentPacked()) > Piece.x(placement) && board.moveLeft()) { }
+            while (Piece.x(board.getCurrentPacked()) < Piece.x(placement) && board.moveRight()) { }
+            board.dropToGround();
+            assertEquals(placement, board.getCurrentPacked(), "placement of " + Piece.type(placement));
+            board.hardDrop();
+            board.completeLineClear();
+        }
+    }
+
+    @Test
+    void solutionReplaysToAnEmptyBoard() {
+        Board board = load("""
+                pieces = L J O I
+                grid:
+                XXXXXX....
+                XXXXXX....
+                XXXXXX....
+                XXXXXX....
+                """);
+        int[] solution = solver.solve(board, 6);
+        assertNotNull(solution);
+        assertEquals(4, solution.length);
+        replay(board, solution);
+        assertTrue(board.isEmpty());
+    }
+
+    @Test
+    void solutionThatHoldsTheFirstPiece() {
+        // The S cannot be placed without leaving a hole: hold it and use both O pieces
+        Board board = load("""
+                pieces = S O O
+                grid:
+                XXXX....XX
+                XXXX....XX
+                """);
+        int[] solution = solver.solve(board, 6);
+        assertNotNull(solution);
+        assertEquals(2, solution.length);
+        replay(board, solution);
+        assertTrue(board.isEmpty());
+        assertEquals(2, board.getLockCount());
+    }
+
+    @Test
+    void noSolutionWithTooFewPieces() {
+        Board board = load("""
+                pieces = O
+                grid:
+                XXXX....XX
+                XXXX....XX
+                """);
+        assertNull(solver.solve(board, 1));
+    }
+
+    @Test
+    void cancelAbandonsAQueuedSearch() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        PerfectClearSolver busy = new PerfectClearSolver(single);
+        Board board = load("""
+                pieces = O O
+                grid:
+                XXXX....XX
+                XXXX....XX
+                """);
+        // Occupy the only worker so the search is still queued when it is cancelled
+        CountDownLatch release = new CountDownLatch(1);
+        single.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CompletableFuture<int[]> result = busy.solveAsync(board, 2);
+        busy.cancel();
+        release.countDown();
+        assertNull(result.join());
+        single.shutdown();
+    }
+}
@@ -0,0 +1,80 @@
+#!/usr/bin/env bash
+#
+# Startup time and memory footprint for each packaging of the game.
+#
+#   mvn -Pruntime-image install                  # module jars + jlink image (ui/target/tetris)
+#   mvn -pl ui javafx:run -Pcds-archive          # optional: AppCDS archive (ui/target/tetris.jsa)
+#   mvn -pl core -Pnative package                # optional, GraalVM only: core/target/tetris-headless
+#   scripts/footprint-benchmark.sh [runs]
+#
+# Each packaging runs the GUI (which exits once the menu and game scene are built; it
+# needs a display) and the headless engine. The numbers come from the startup report the
+# game prints: ms from process start until ready, heap in use, and peak RSS (Linux).
+# The headless engine runs from the core module alone, without JavaFX on the module path.
+# Results are written to target/footprint.csv.
+
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+GAMES=${GAMES:-200}
+OUT=target/footprint.csv
+GUI=tetris.group__25/tetris.group__25.TetrisApplication
+HEADLESS=tetris.group__25.core/tetris.group__25.headless.HeadlessMain
+PROPS=(-Dtetris.startupReport=true -Dtetris.exitAfterStartup=true -Dtetris.dataDir=target/bench-data)
+
+if [[ ! -f ui/target/module-path.txt ]]; then
+    mvn -q -pl ui dependency:build-classpath -Dmdep.outputFile=target/module-path.txt -Dmdep.includeScope=runtime
+fi
+MODULE_PATH="ui/target/classes:$(cat ui/target/module-path.txt)"
+CORE_PATH=core/target/classes
+mkdir -p target
+
+echo "packaging,app,run,ready_ms,heap_used_kb,peak_rss_kb" > "$OUT"
+
+record() {
+    # record <packaging> <app> <ready phase> <command...>
+    local packaging=$1 app=$2 phase=$3
+    shift 3
+    for ((run = 1; run <= RUNS; run++)); do
+        local report
+        report=$("$@" 2>/dev/null) || { echo "  $packaging/$app: run failed, skipped" >&2; return; }
+        local ready heap rss
+        ready=$(awk -v p="$phase" '$0 ~ "^  "p" " { print $(NF-1) }' <<< "$report")
+        heap=$(awk '/heap used/ { print $3 }' <<< "$report")
+        rss=$(awk '/peak RSS/ { print $3 }' <<< "$report")
+        echo "$packaging,$app,$run,${ready:-},${heap:-},${rss:-}" >> "$OUT"
+    done
+    echo "  $packaging/$app done"
+}
+
+echo "Running $RUNS runs per packaging..."
+record jvm gui "game scene built" java "${PROPS[@]}" --module-path "$MODULE_PATH" -m "$GUI"
+record jvm headless "games done" java "${PROPS[@]}" --module-path "$CORE_PATH" -m "$HEADLESS" --games "$GAMES"
+
+if [[ -f ui/target/tetris.jsa ]]; then
+    record jvm-cds gui "game scene built" java -XX:SharedArchiveFile=ui/target/tetris.jsa "${PROPS[@]}" \
+        --module-path "$MODULE_PATH" -m "$GUI"
+fi
+
+if [[ -x ui/target/tetris/bin/java ]]; then
+    record jlink gui "game scene built" ui/target/tetris/bin/java "${PROPS[@]}" -m "$GUI"
+    record jlink headless "games done" ui/target/tetris/bin/java "${PROPS[@]}" -m "$HEADLESS" --games "$GAMES"
+    echo "  jlink image size: $(du -sh ui/target/tetris | cut -f1)"
+fi
+
+if [[ -x core/target/tetris-headless ]]; then
+    record native headless "games done" core/target/tetris-headless "${PROPS[@]}" --games "$GAMES"
+    echo "  native binary size: $(du -sh core/target/tetris-headless | cut -f1)"
+fi
+
+echo
+echo "Medians (ready ms / heap KB / peak RSS KB):"
+median() {
+    # median <column> <csv rows>
+    cut -d, -f"$1" <<< "$2" | sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+for key in $(tail -n +2 "$OUT" | cut -d, -f1,2 | sort -u); do
+    rows=$(grep "^$key," "$OUT")
+    printf "  %-16s %6s ms %8s KB %8s KB\n" "${key/,//}" "$(median 4 "$rows")" "$(median 5 "$rows")" "$(median 6 "$rows")"
+done
@@ -1,12 +0,0 @@
-package tetris.group__25.tetromino;
-
-public class IPiece extends Tetromino {
-    public IPiece() {
-        super(new int[][] {
-                {0,0,0,0},
-                {1,1,1,1},
-                {0,0,0,0},
-                {0,0,0,0}
-        }, 1);
-    }
-}
@@ -1,11 +0,0 @@
-package tetris.group__25.tetromino;
-
-public class JPiece extends Tetromino {
-    public JPiece() {
-        super(new int[][] {
-                {2,0,0},
-                {2,2,2},
-                {0,0,0}
-        }, 2);
-    }
-}
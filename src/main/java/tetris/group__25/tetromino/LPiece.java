@@ -1,11 +0,0 @@
-package tetris.group__25.tetromino;
-
-public class LPiece extends Tetromino {
-    public LPiece() {
-        super(new int[][] {
-                {0,0,3},
-                {3,3,3},
-                {0,0,0}
-        }, 3);
-    }
-}
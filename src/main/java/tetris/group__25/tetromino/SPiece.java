@@ -1,11 +0,0 @@
-package tetris.group__25.tetromino;
-
-public class SPiece extends Tetromino {
-    public SPiece() {
-        super(new int[][] {
-                {0,5,5},
-                {5,5,0},
-                {0,0,0}
-        }, 5);
-    }
-}
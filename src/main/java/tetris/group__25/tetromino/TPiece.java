@@ -1,11 +0,0 @@
-package tetris.group__25.tetromino;
-
-public class TPiece extends Tetromino {
-    public TPiece() {
-        super(new int[][] {
-                {0,6,0},
-                {6,6,6},
-                {0,0,0}
-        }, 6);
-    }
-}
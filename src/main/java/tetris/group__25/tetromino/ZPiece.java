@@ -1,11 +0,0 @@
-package tetris.group__25.tetromino;
-
-public class ZPiece extends Tetromino {
-    public ZPiece() {
-        super(new int[][] {
-                {7,7,0},
-                {0,7,7},
-                {0,0,0}
-        }, 7);
-    }
-}
@@ -0,0 +1,8 @@
+module tetris.group__25 {
+    // This module defines the Tetris game application: the JavaFX front end over the core.
+    // Keep the requires list minimal: jlink builds the runtime image from it.
+    requires tetris.group__25.core;
+    requires javafx.controls;
+
+    exports tetris.group__25;
+}
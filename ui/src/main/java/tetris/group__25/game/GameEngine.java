@@ -0,0 +1,458 @@
+package tetris.group__25.game;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import tetris.group__25.analytics.AnalyticsExporter;
+import tetris.group__25.analytics.AnalyticsPipeline;
+import tetris.group__25.engine.Board;
+import tetris.group__25.engine.GameMode;
+import tetris.group__25.engine.GarbageQueue;
+import tetris.group__25.engine.PieceLifecycle;
+import tetris.group__25.event.EventBus;
+import tetris.group__25.event.GameEvent;
+import tetris.group__25.input.InputAction;
+import tetris.group__25.input.InputConfig;
+import tetris.group__25.input.InputProcessor;
+import tetris.group__25.input.InputQueue;
+import tetris.group__25.input.InputTarget;
+import tetris.group__25.metrics.LatencyTracker;
+import tetris.group__25.persist.DataFiles;
+import tetris.group__25.persist.WriteBehindStore;
+import tetris.group__25.raster.BoardRasterizer;
+import tetris.group__25.raster.PngEncoder;
+import tetris.group__25.render.Renderer;
+import tetris.group__25.score.HighScoreManager;
+import tetris.group__25.score.LeaderboardEntry;
+import tetris.group__25.score.Ruleset;
+import tetris.group__25.score.ScoreSystem;
+import tetris.group__25.score.SessionStats;
+import tetris.group__25.solver.PerfectClearSolver;
+import tetris.group__25.tetromino.Piece;
+
+import java.io.IOException;
+import java.util.List;
+
+public class GameEngine {
+    private static final int UNDO_DEPTH = 1000;
+    private static final int HINT_PIECES = 5; // the piece in play, three previews and hold
+    private static final int THUMBNAIL_CELL = 8;
+
+    private final Scene scene;
+    private final Renderer renderer;
+    private final Board board;
+    private final PieceLifecycle lifecycle;
+    private final ScoreSystem scoreSystem;
+    private final WriteBehindStore store;
+    private final HighScoreManager highScoreManager;
+    private final SessionStats sessionStats;
+    private final AnalyticsPipeline analytics;
+    private final EventBus events = new EventBus();
+    private GameState state;
+    private final AnimationTimer timer;
+    private final KeyboardInput keyboardInput;
+    private final InputProcessor inputProcessor;
+    private final LatencyTracker latencyTracker;
+    private Runnable onBackToMenu;
+    private long playTimeNanos;
+    private boolean trainingOver;   // a training game topped out but can still be resumed with undo
+    private long trainingOverTime;
+    private GameMode mode = GameMode.MARATHON;
+    private final GarbageQueue garbage = new GarbageQueue(0, 0.3);
+    private final PerfectClearSolver hintSolver = new PerfectClearSolver();
+    private final BoardRasterizer thumbnailRasterizer = new BoardRasterizer(THUMBNAIL_CELL);
+    private final int[] thumbnailPixels = thumbnailRasterizer.newBuffer();
+    private final PngEncoder thumbnailEncoder = new PngEncoder();
+    private long garbageTimerNanos;
+
+    public GameEngine(Scene scene, Renderer renderer) {
+        this.scene = scene;
+        this.renderer = renderer;
+        this.board = new Board();
+        this.scoreSystem = new ScoreSystem(Ruleset.fromSystemProperties());
+        this.lifecycle = new PieceLifecycle(board, scoreSystem.getRuleset());
+        Long lineClearDelay = Long.getLong("tetris.lineClearDelay");
+        if (lineClearDelay != null) lifecycle.setLineClearDelay(PieceLifecycle.millisToTicks(lineClearDelay));
+        this.store = new WriteBehindStore();
+        this.highScoreManager = new HighScoreManager(store);
+        this.sessionStats = new SessionStats(store);
+        this.analytics = new AnalyticsPipeline(scoreSystem);
+        if (Boolean.getBoolean("tetris.recordPieces")) {
+            try {
+                analytics.recordPieces(new AnalyticsExporter(store).piecesFile(analytics.getAggregates()));
+            } catch (IOException e) {
+                System.err.println("Could not record pieces: " + e.getMessage());
+            }
+        }
+        // Board and game events reach the renderer, analytics and persistence once per frame
+        board.setListener(events);
+        renderer.subscribe(events);
+        analytics.subscribe(events);
+        events.subscribe(event -> gameOver(event.getTime()), GameEvent.Type.GAME_OVER);
+        InputQueue inputQueue = new InputQueue(256);
+        this.keyboardInput = new KeyboardInput(inputQueue);
+        this.latencyTracker = new LatencyTracker();
+        this.inputProcessor = new InputProcessor(inputQueue, InputConfig.fromSystemProperties(), latencyTracker);
+        this.state = new RunningState(this);
+
+        // Set up renderer callbacks
+        renderer.setOnRestartGame(this::restartGame);
+        renderer.setOnBackToMenu(this::backToMenu);
+        renderer.setLatencyTracker(latencyTracker);
+        if (LatencyTracker.ENABLED) {
+            scene.addPostLayoutPulseListener(latencyTracker::pulseCompleted);
+        }
+
+        // Gameplay keys are timestamped into the input queue; the active state
+        // still sees every key press for pause, restart and menu handling.
+        scene.setOnKeyPressed(e -> {
+            keyboardInput.keyPressed(e.getCode(), System.nanoTime());
+            handleInput(e);
+        });
+        scene.setOnKeyReleased(e -> keyboardInput.keyReleased(e.getCode(), System.nanoTime()));
+
+        timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                state.update(now);
+                events.dispatch();
+                state.render(now);
+            }
+        };
+    }
+
+    public void start() {
+        start(GameMode.MARATHON);
+    }
+
+    public void start(GameMode mode) {
+        finishTrainingGame(); // under the mode it was played in
+        this.mode = mode;
+        // Training keeps the last UNDO_DEPTH locks; the score is rewound along with the board
+        board.setHistory(mode.allowsUndo() ? UNDO_DEPTH : 0, scoreSystem::saveState, scoreSystem::restoreState);
+        resetGame();
+        renderer.hidePauseOverlay();
+        timer.start();
+    }
+
+    public void restartGame() {
+        resetGame();
+    }
+
+    private void resetGame() {
+        events.dispatch(); // whatever the last game still has pending belongs to it
+        finishTrainingGame();
+        board.reset();
+        scoreSystem.reset();
+        garbage.reset(board.getSeed());
+        garbageTimerNanos = 0;
+        playTimeNanos = 0;
+        analytics.gameStarted(board.getSeed());
+        lifecycle.start();
+        renderer.hideGameOverOverlay();
+        setState(new RunningState(this));
+        requestHint();
+    }
+
+    private void requestHint() {
+        /*
+         * Training shows the first placement of a perfect clear when one can be made with
+         * the visible pieces. The search runs in the background; a result that arrives
+         * after another lock or an undo is dropped.
+         */
+        hintSolver.cancel();
+        renderer.setHint(Piece.NONE);
+        if (!mode.allowsUndo() || board.isGameOver()) return;
+        long locks = board.getLockCount();
+        hintSolver.solveAsync(board, HINT_PIECES).thenAccept(solution -> {
+            if (solution == null) return;
+            Platform.runLater(() -> {
+                if (board.getLockCount() == locks && mode.allowsUndo()) renderer.setHint(solution[0]);
+            });
+        });
+    }
+
+    private void gameOver(long time) {
+        /*
+         * A training game can be resumed by undoing the piece that topped out, so it is
+         * recorded only once it is left: restarted, abandoned for the menu or closed.
+         */
+        if (mode.allowsUndo()) {
+            trainingOver = true;
+            trainingOverTime = time;
+        } else {
+            recordFinishedGame(time);
+        }
+    }
+
+    private void finishTrainingGame() {
+        if (!trainingOver) return;
+        trainingOver = false;
+        recordFinishedGame(trainingOverTime);
+    }
+
+    private void recordFinishedGame(long time) {
+        // Persistence is write-behind: nothing here waits on the disk
+        analytics.gameOver(time);
+        LeaderboardEntry entry = new LeaderboardEntry(scoreSystem.getScore(),
+                scoreSystem.getTotalLines(), scoreSystem.getLevel(), playTimeNanos / 1_000_000L,
+                board.getSeed(), System.currentTimeMillis());
+        if (!mode.allowsUndo()) {
+            highScoreManager.recordGame(entry);
+            saveThumbnail(entry);
+        }
+        sessionStats.gameFinished(entry);
+    }
+
+    private void saveThumbnail(LeaderboardEntry entry) {
+        // An 80x160 image takes well under a millisecond to draw and encode; the write is queued
+        thumbnailRasterizer.render(board, thumbnailPixels);
+        byte[] png = thumbnailEncoder.encode(thumbnailPixels, thumbnailRasterizer.getWidth(), thumbnailRasterizer.getHeight());
+        store.replace(DataFiles.resolve("thumbnails/" + entry.timestamp() + ".png"), png);
+    }
+
+    public void receiveGarbage(int rows) {
+        // Garbage sent by an opponent; it rises when the next piece locks without a clear
+        garbage.receive(rows);
+    }
+
+    public GameMode getMode() {
+        return mode;
+    }
+
+    public void setOnBackToMenu(Runnable callback) {
+        this.onBackToMenu = callback;
+    }
+
+    public void backToMenu() {
+        timer.stop();
+        hintSolver.cancel();
+        renderer.setHint(Piece.NONE);
+        latencyTracker.discardPending();
+        finishTrainingGame();
+        renderer.hideGameOverOverlay();
+        renderer.hidePauseOverlay();
+        if (onBackToMenu != null) {
+            onBackToMenu.run();
+        }
+    }
+
+    private void handleInput(KeyEvent e) {
+        state.handleInput(e);
+    }
+
+    public void setState(GameState state) {
+        this.state = state;
+    }
+
+    public int getHighScore() {
+        return highScoreManager.getHighScore();
+    }
+
+    public List<LeaderboardEntry> getTopScores() {
+        return highScoreManager.getTopScores();
+    }
+
+    public AnalyticsPipeline getAnalytics() {
+        return analytics;
+    }
+
+    public void shutdown() {
+        timer.stop();
+        hintSolver.cancel();
+        events.dispatch();
+        finishTrainingGame();
+        sessionStats.endSession();
+        latencyTracker.printReport(System.out); // one report for the session
+        if (analytics.getAggregates().getGames().size() > 0) {
+            new AnalyticsExporter(store).export(analytics.getAggregates(), analytics.snapshot());
+        }
+        analytics.close();
+        thumbnailEncoder.end();
+        store.close();
+    }
+
+    private class RunningState implements GameState, InputTarget {
+        // Frame time is turned into whole simulation ticks; a long stall is not caught up on
+        private static final long MAX_BACKLOG_NANOS = 8 * PieceLifecycle.TICK_NANOS;
+
+        private final GameEngine engine;
+        private long lastFrame = 0;
+        private long backlogNanos;
+        private long scoredLocks;
+
+        RunningState(GameEngine engine) {
+            this.engine = engine;
+            this.scoredLocks = board.getLockCount();
+            keyboardInput.reset();
+            inputProcessor.reset();
+        }
+
+        @Override
+        public void handleInput(KeyEvent e) {
+            if (e.getCode() == KeyCode.P) {
+                engine.setState(new PausedState(engine));
+            }
+        }
+
+        @Override
+        public boolean apply(InputAction action) {
+            return switch (action) {
+                case MOVE_LEFT -> lifecycle.moveLeft();
+                case MOVE_RIGHT -> lifecycle.moveRight();
+                case SOFT_DROP -> {
+                    boolean moved = lifecycle.softDrop();
+                    if (moved) scoreSystem.addSoftDrop(1);
+                    checkBoardState();
+                    yield moved;
+                }
+                case ROTATE -> lifecycle.rotate(true);
+                case ROTATE_CCW -> lifecycle.rotate(false);
+                case HARD_DROP -> {
+                    int piece = board.getCurrentPacked();
+                    if (piece != Piece.NONE && lifecycle.acceptsInput()) {
+                        events.hardDrop(piece, Piece.y(piece) + board.dropDistance());
+                    }
+                    scoreSystem.addHardDrop(lifecycle.hardDrop());
+                    checkBoardState();
+                    yield true;
+                }
+                case HOLD -> lifecycle.hold();
+                case UNDO -> undo();
+            };
+        }
+
+        private boolean undo() {
+            if (!mode.allowsUndo() || !lifecycle.undo()) return false;
+            scoredLocks = board.getLockCount();
+            requestHint();
+            return true;
+        }
+
+        @Override
+        public void update(long now) {
+            long elapsed = lastFrame == 0 ? 0 : now - lastFrame;
+            lastFrame = now;
+            playTimeNanos += elapsed;
+
+            // Input is buffered, not dropped, while no piece is controllable.
+            inputProcessor.update(now, this, lifecycle.acceptsInput());
+            if (engine.state != this) return;
+
+            backlogNanos = Math.min(backlogNanos + elapsed, MAX_BACKLOG_NANOS);
+            while (backlogNanos >= PieceLifecycle.TICK_NANOS) {
+                backlogNanos -= PieceLifecycle.TICK_NANOS;
+                step();
+                if (engine.state != this) return;
+            }
+        }
+
+        private void step() {
+            // One simulation tick: timed garbage, then gravity and the lock/clear/entry delays
+            long interval = mode.garbageIntervalNanos(scoreSystem.getLevel());
+            if (interval > 0 && lifecycle.acceptsInput()) {
+                garbageTimerNanos += PieceLifecycle.TICK_NANOS;
+                if (garbageTimerNanos >= interval) {
+                    garbageTimerNanos -= interval;
+                    garbage.inject(board, 1);
+                    checkBoardState();
+                    if (engine.state != this) return;
+                }
+            }
+            lifecycle.tick(scoreSystem.getGravity());
+            checkBoardState();
+        }
+
+        @Override
+        public void render(long now) {
+            renderer.render(now, board, scoreSystem.getScore(), scoreSystem.getLevel(),
+                    scoreSystem.getTotalLines(), engine.getHighScore());
+        }
+
+        private void checkBoardState() {
+            if (board.getLockCount() != scoredLocks) {
+                // Every lock is scored once: clears, and the combo reset when nothing clears
+                scoredLocks = board.getLockCount();
+                int lines = board.getLastLinesCleared();
+                int levelBefore = scoreSystem.getLevel();
+                scoreSystem.addLock(lines, board.getLastSpin());
+                if (scoreSystem.getLevel() > levelBefore) events.levelUp(scoreSystem.getLevel());
+                // Clears cancel incoming garbage; otherwise whatever is queued rises now
+                if (lines > 0) {
+                    garbage.cancel(lines);
+                } else if (garbage.getPending() > 0) {
+                    garbage.release(board);
+                }
+                requestHint();
+            }
+            if (board.isGameOver()) {
+                // The game is recorded when the GAME_OVER event is dispatched at the end of the frame
+                engine.setState(new GameOverState(engine));
+            }
+        }
+    }
+
+    private class PausedState implements GameState {
+        private final GameEngine engine;
+
+        PausedState(GameEngine engine) {
+            this.engine = engine;
+            renderer.showPauseOverlay();
+        }
+
+        @Override
+        public void handleInput(KeyEvent e) {
+            if (e.getCode() == KeyCode.P) {
+                renderer.hidePauseOverlay();
+                engine.setState(new RunningState(engine));
+            } else if (e.getCode() == KeyCode.M) {
+                renderer.hidePauseOverlay();
+                engine.backToMenu();
+            }
+        }
+
+        @Override
+        public void update(long now) { /* paused */ }
+
+        @Override
+        public void render(long now) {
+            renderer.render(now, board, scoreSystem.getScore(), scoreSystem.getLevel(),
+                    scoreSystem.getTotalLines(), engine.getHighScore());
+        }
+    }
+
+    private class GameOverState implements GameState {
+        private final GameEngine engine;
+
+        GameOverState(GameEngine engine) {
+            this.engine = engine;
+            renderer.showGameOverOverlay();
+        }
+
+        @Override
+        public void handleInput(KeyEvent e) {
+            if (e.getCode() == KeyCode.R) {
+                engine.restartGame();
+            } else if (e.getCode() == KeyCode.BACK_SPACE && mode.allowsUndo() && lifecycle.undo()) {
+                // Training: take back the piece that topped out and play on, as the same game
+                trainingOver = false;
+                renderer.hideGameOverOverlay();
+                engine.setState(new RunningState(engine));
+                requestHint();
+            } else if (e.getCode() == KeyCode.M) {
+                engine.backToMenu();
+            }
+        }
+
+        @Override
+        public void update(long now) { /* game over */ }
+
+        @Override
+        public void render(long now) {
+            renderer.render(now, board, scoreSystem.getScore(), scoreSystem.getLevel(),
+                    scoreSystem.getTotalLines(), engine.getHighScore());
+        }
+    }
+}
@@ -1,9 +1,9 @@
-package tetris.group__25.engine;
+package tetris.group__25.game;
 
 import javafx.scene.input.KeyEvent;
 
 public interface GameState {
     void handleInput(KeyEvent e);
     void update(long now);
-    void render();
+    void render(long now);
 }
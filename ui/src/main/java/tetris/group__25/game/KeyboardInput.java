@@ -0,0 +1,54 @@
+package tetris.group__25.game;
+
+import javafx.scene.input.KeyCode;
+import tetris.group__25.input.InputAction;
+import tetris.group__25.input.InputProcessor;
+import tetris.group__25.input.InputQueue;
+
+import java.util.Arrays;
+
+/**
+ * Translates scene key events into timestamped queue entries. OS auto repeat is
+ * filtered out here, since DAS/ARR are applied by the {@link InputProcessor}.
+ */
+public class KeyboardInput {
+    private final InputQueue queue;
+    private final boolean[] held = new boolean[InputAction.values().length];
+
+    public KeyboardInput(InputQueue queue) {
+        this.queue = queue;
+    }
+
+    public void keyPressed(KeyCode code, long timestamp) {
+        InputAction action = map(code);
+        if (action == null || held[action.ordinal()]) return;
+        held[action.ordinal()] = true;
+        queue.offer(action, true, timestamp);
+    }
+
+    public void keyReleased(KeyCode code, long timestamp) {
+        InputAction action = map(code);
+        if (action == null || !held[action.ordinal()]) return;
+        held[action.ordinal()] = false;
+        queue.offer(action, false, timestamp);
+    }
+
+    public void reset() {
+        // A key that is still physically down is picked up again by the next OS repeat.
+        Arrays.fill(held, false);
+    }
+
+    private static InputAction map(KeyCode code) {
+        return switch (code) {
+            case LEFT -> InputAction.MOVE_LEFT;
+            case RIGHT -> InputAction.MOVE_RIGHT;
+            case DOWN -> InputAction.SOFT_DROP;
+            case UP, X -> InputAction.ROTATE;
+            case Z -> InputAction.ROTATE_CCW;
+            case SPACE -> InputAction.HARD_DROP;
+            case C -> InputAction.HOLD;
+            case BACK_SPACE -> InputAction.UNDO;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package tetris.group__25.render;
+
+/**
+ * Per-frame time budget shared by every effect system on screen, so a view with many
+ * boards spends no more on effects than a single board is allowed to.
+ */
+public class EffectBudget {
+    public static final EffectBudget SHARED =
+            new EffectBudget(Long.getLong("tetris.effectBudgetMicros", 2000) * 1000L);
+
+    private final long budgetNanos;
+    private long frame = Long.MIN_VALUE;
+    private long spentNanos;
+
+    public EffectBudget(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    public void beginFrame(long frameTime) {
+        /*
+         * The first effect system to see a new frame timestamp resets the budget.
+         */
+        if (frameTime != frame) {
+            frame = frameTime;
+            spentNanos = 0;
+        }
+    }
+
+    public long remainingNanos() {
+        return budgetNanos - spentNanos;
+    }
+
+    public void spend(long nanos) {
+        spentNanos += nanos;
+    }
+
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+}
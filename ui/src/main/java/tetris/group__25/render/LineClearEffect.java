@@ -0,0 +1,83 @@
+package tetris.group__25.render;
+
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+
+import java.util.List;
+
+/**
+ * Frame-driven line clear flash. One rectangle per board row is created up front and
+ * reused, so clearing lines never allocates nodes or transitions.
+ */
+public class LineClearEffect {
+    private static final long DURATION_NANOS = 300_000_000L;
+    private static final double GROWTH = 0.1; // rows expand by 10% while fading out
+    private static final int COARSE_STEPS = 3;
+
+    private final Rectangle[] flashes;
+    private final long[] startTimes;
+    private final EffectBudget budget;
+    private boolean smooth = true;
+
+    public LineClearEffect(Pane pane, int rows, EffectBudget budget) {
+        this.budget = budget;
+        flashes = new Rectangle[rows];
+        startTimes = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            Rectangle r = new Rectangle();
+            r.setFill(Color.WHITE);
+            r.setMouseTransparent(true);
+            r.setVisible(false);
+            pane.getChildren().add(r);
+            flashes[i] = r;
+        }
+    }
+
+    public void start(List<Integer> rows, long now) {
+        for (int row : rows) {
+            if (row < 0 || row >= flashes.length) continue;
+            startTimes[row] = now;
+            flashes[row].setVisible(true);
+        }
+    }
+
+    public void update(long now, double offsetX, double offsetY, double cellSize, int cols) {
+        /*
+         * Advance every active flash to the given frame time and lay it out over its row.
+         * Flashes are never skipped, but their cost comes out of the shared effect budget.
+         */
+        long start = System.nanoTime();
+        budget.beginFrame(now);
+        for (int row = 0; row < flashes.length; row++) {
+            Rectangle r = flashes[row];
+            if (!r.isVisible()) continue;
+            double t = (double) (now - startTimes[row]) / DURATION_NANOS;
+            if (t >= 1.0) {
+                r.setVisible(false);
+                continue;
+            }
+            // Coarse mode moves in a few steps; in between the values repeat and the node stays clean
+            if (!smooth) t = Math.floor(t * COARSE_STEPS) / COARSE_STEPS;
+            double width = cols * cellSize;
+            double grow = width * GROWTH * t;
+            double growY = cellSize * GROWTH * t;
+            r.setX(offsetX - grow / 2);
+            r.setY(offsetY + row * cellSize - growY / 2);
+            r.setWidth(width - 2 + grow);
+            r.setHeight(cellSize - 2 + growY);
+            r.setOpacity(1.0 - t);
+        }
+        budget.spend(System.nanoTime() - start);
+    }
+
+    public void setSmooth(boolean smooth) {
+        this.smooth = smooth;
+    }
+
+    public void clear() {
+        for (Rectangle r : flashes) {
+            r.setVisible(false);
+        }
+    }
+}
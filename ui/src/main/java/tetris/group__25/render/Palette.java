@@ -0,0 +1,88 @@
+package tetris.group__25.render;
+
+import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Stop;
+import tetris.group__25.raster.CellPalette;
+
+/**
+ * Every paint the renderer uses, built once at class load and indexed by colour code.
+ * Cell fills are derived from {@link #base(int)} for each variant
+ * (locked, active, ghost, preview), and the background has one gradient per level theme.
+ */
+public final class Palette {
+    public static final int CODES = CellPalette.CODES;
+    public static final int THEMES = 10;
+
+    public static final Color EMPTY_CELL = fx(CellPalette.EMPTY_CELL);
+    public static final Color GRID_STROKE = fx(CellPalette.GRID_STROKE);
+    public static final Color CELL_STROKE = fx(CellPalette.CELL_STROKE);
+
+    private static final Color[] LOCKED = new Color[CODES];
+    private static final Color[] ACTIVE = new Color[CODES];
+    private static final Color[] GHOST = new Color[CODES];
+    private static final Color[] PREVIEW = new Color[CODES];
+    private static final LinearGradient[] BACKGROUNDS = new LinearGradient[THEMES];
+    private static final Color[] FLAT_BACKGROUNDS = new Color[THEMES];
+
+    static {
+        LOCKED[0] = ACTIVE[0] = GHOST[0] = PREVIEW[0] = EMPTY_CELL;
+        for (int code = 1; code < CODES; code++) {
+            Color base = base(code);
+            LOCKED[code] = base.deriveColor(0, 0.8, 1.1, 0.9);
+            ACTIVE[code] = base.deriveColor(0, 0.8, 1.1, 0.95);
+            GHOST[code] = base.deriveColor(0, 0.3, 1.2, 0.4);
+            PREVIEW[code] = LOCKED[code];
+        }
+
+        // Level 0 keeps the original blue-grey gradient; each later theme shifts its hue.
+        Color baseColor = fx(CellPalette.BACKGROUND);
+        Color accentColor = Color.rgb(40, 45, 70);
+        Color highlightColor = Color.rgb(50, 55, 85);
+        for (int theme = 0; theme < THEMES; theme++) {
+            double hue = theme * 360.0 / THEMES;
+            Color base = baseColor.deriveColor(hue, 1, 1, 1);
+            BACKGROUNDS[theme] = new LinearGradient(0, 0, 1, 1, true, CycleMethod.NO_CYCLE,
+                    new Stop(0, base),
+                    new Stop(0.3, accentColor.deriveColor(hue, 1, 1, 1)),
+                    new Stop(0.7, highlightColor.deriveColor(hue, 1, 1, 1)),
+                    new Stop(1, base));
+            FLAT_BACKGROUNDS[theme] = accentColor.deriveColor(hue, 1, 1, 1);
+        }
+    }
+
+    private Palette() { }
+
+    public static Color base(int code) {
+        // The plain colour for a cell code, before any variant is derived from it; shared
+        // with the headless rasterizer
+        return fx(CellPalette.base(code));
+    }
+
+    private static Color fx(int argb) {
+        return Color.rgb(argb >>> 16 & 0xFF, argb >>> 8 & 0xFF, argb & 0xFF, (argb >>> 24) / 255.0);
+    }
+
+    public static Color locked(int code) { return LOCKED[index(code)]; }
+    public static Color active(int code) { return ACTIVE[index(code)]; }
+    public static Color ghost(int code) { return GHOST[index(code)]; }
+    public static Color preview(int code) { return PREVIEW[index(code)]; }
+
+    public static int themeFor(int level) {
+        return Math.floorMod(level, THEMES);
+    }
+
+    public static LinearGradient background(int theme) {
+        return BACKGROUNDS[theme];
+    }
+
+    public static Color flatBackground(int theme) {
+        // A single colour from the theme's gradient, for when gradients are switched off
+        return FLAT_BACKGROUNDS[theme];
+    }
+
+    private static int index(int code) {
+        return code >= 0 && code < CODES ? code : 0;
+    }
+}
@@ -0,0 +1,245 @@
+package tetris.group__25.render;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Particle effects for line clears, hard drops and level ups. Particles live in
+ * preallocated struct-of-arrays pools and are drawn onto one canvas in a single pass,
+ * grouped by colour and alpha band so the fill only changes a handful of times.
+ * Positions are kept in board cells, so the effects follow the board when resized.
+ */
+public class ParticleSystem {
+    private static final int COLORS = 8;       // index 0 is white, 1-7 are tetromino codes
+    private static final int ALPHA_BANDS = 4;
+    private static final int KEYS = COLORS * ALPHA_BANDS;
+    private static final float GRAVITY = 30f; // cells per second squared
+    private static final int BUDGET_CHECK_INTERVAL = 64;
+
+    private final int capacity;
+    private final float[] x, y, vx, vy, life, maxLife, size;
+    private final byte[] color;
+    private int count;
+
+    // Scratch arrays for the counting sort used to batch draws
+    private final byte[] keys;
+    private final int[] order;
+    private final int[] bucketStart = new int[KEYS + 1];
+
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+    private final Color[][] fills = new Color[COLORS][ALPHA_BANDS];
+    private final EffectBudget budget;
+    private final SplittableRandom random = new SplittableRandom();
+    private double spawnScale = 1.0;
+    private boolean enabled = true;
+    private double flash;
+    private long lastFrame;
+    private boolean drewLastFrame;
+
+    public ParticleSystem(Pane pane, int capacity, EffectBudget budget) {
+        this.capacity = capacity;
+        this.budget = budget;
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        life = new float[capacity];
+        maxLife = new float[capacity];
+        size = new float[capacity];
+        color = new byte[capacity];
+        keys = new byte[capacity];
+        order = new int[capacity];
+
+        for (int c = 0; c < COLORS; c++) {
+            Color base = c == 0 ? Color.WHITE : Palette.base(c);
+            for (int a = 0; a < ALPHA_BANDS; a++) {
+                double opacity = (a + 1) / (double) ALPHA_BANDS;
+                fills[c][a] = base.deriveColor(0, 0.8, 1.2, opacity);
+            }
+        }
+
+        canvas = new Canvas();
+        canvas.setMouseTransparent(true);
+        canvas.widthProperty().bind(pane.widthProperty());
+        canvas.heightProperty().bind(pane.heightProperty());
+        gc = canvas.getGraphicsContext2D();
+        pane.getChildren().add(canvas);
+    }
+
+    private void spawn(float px, float py, float pvx, float pvy, float lifetime, float psize, int code) {
+        if (!enabled || count == capacity) return; // disabled or pool exhausted: drop the particle
+        int i = count++;
+        x[i] = px;
+        y[i] = py;
+        vx[i] = pvx;
+        vy[i] = pvy;
+        life[i] = lifetime;
+        maxLife[i] = lifetime;
+        size[i] = psize;
+        color[i] = (byte) code;
+    }
+
+    private int scaled(int amount) {
+        return (int) Math.max(1, Math.round(amount * spawnScale));
+    }
+
+    public void burstRows(List<Integer> rows, int cols) {
+        /*
+         * Scatter sparks out of each cleared row, cycling through the neon accent colours.
+         */
+        int perCell = scaled(3);
+        for (int row : rows) {
+            for (int col = 0; col < cols; col++) {
+                for (int k = 0; k < perCell; k++) {
+                    float angle = (float) (random.nextDouble() * Math.PI * 2);
+                    float speed = (float) (2 + random.nextDouble() * 6);
+                    spawn(col + 0.5f, row + 0.5f,
+                            (float) Math.cos(angle) * speed, (float) Math.sin(angle) * speed - 4,
+                            (float) (0.4 + random.nextDouble() * 0.4), 0.18f,
+                            (col + k) % 2 == 0 ? 0 : (row + col) % 7 + 1);
+                }
+            }
+        }
+    }
+
+    public void trail(int[][] shape, int pieceX, int fromY, int toY, int code) {
+        /*
+         * Leave a streak in every column the piece covered while it was hard dropped.
+         */
+        int perRow = scaled(1);
+        for (int c = 0; c < shape[0].length; c++) {
+            int top = -1;
+            for (int r = 0; r < shape.length; r++) {
+                if (shape[r][c] != 0) { top = r; break; }
+            }
+            if (top < 0) continue;
+            for (int yy = fromY + top; yy < toY + top; yy++) {
+                for (int k = 0; k < perRow; k++) {
+                    spawn((float) (pieceX + c + random.nextDouble()), (float) (yy + random.nextDouble()),
+                            (float) (random.nextDouble() - 0.5), -1.5f,
+                            (float) (0.15 + random.nextDouble() * 0.2), 0.12f, code);
+                }
+            }
+        }
+    }
+
+    public void levelUp(int rows, int cols) {
+        if (enabled) flash = 1.0;
+        int sparks = scaled(60);
+        for (int k = 0; k < sparks; k++) {
+            float angle = (float) (random.nextDouble() * Math.PI * 2);
+            float speed = (float) (4 + random.nextDouble() * 10);
+            spawn(cols / 2f, rows / 2f, (float) Math.cos(angle) * speed, (float) Math.sin(angle) * speed,
+                    (float) (0.6 + random.nextDouble() * 0.6), 0.22f, k % COLORS);
+        }
+    }
+
+    public void update(long now, double offsetX, double offsetY, double cellSize) {
+        /*
+         * Step the simulation and redraw all particles within this frame's effect budget.
+         */
+        long start = System.nanoTime();
+        budget.beginFrame(now);
+        float dt = lastFrame == 0 ? 0 : (float) Math.min(0.1, (now - lastFrame) / 1e9);
+        lastFrame = now;
+
+        for (int i = 0; i < count; ) {
+            life[i] -= dt;
+            if (life[i] <= 0) {
+                removeAt(i);
+                continue;
+            }
+            vy[i] += GRAVITY * dt;
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+            i++;
+        }
+        flash = Math.max(0, flash - dt * 3);
+
+        if (count == 0 && flash == 0) {
+            if (drewLastFrame) {
+                gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+                drewLastFrame = false;
+            }
+            return;
+        }
+        draw(start, offsetX, offsetY, cellSize);
+    }
+
+    private void draw(long start, double offsetX, double offsetY, double cellSize) {
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        drewLastFrame = true;
+        if (flash > 0) {
+            gc.setFill(fills[0][Math.min(ALPHA_BANDS - 1, (int) (flash * ALPHA_BANDS * 0.5))]);
+            gc.fillRect(offsetX, offsetY, 10 * cellSize, 20 * cellSize);
+        }
+
+        // Counting sort by (colour, alpha band) so each fill is set once per frame
+        Arrays.fill(bucketStart, 0);
+        for (int i = 0; i < count; i++) {
+            int band = Math.min(ALPHA_BANDS - 1, (int) (life[i] / maxLife[i] * ALPHA_BANDS));
+            keys[i] = (byte) (color[i] * ALPHA_BANDS + band);
+            bucketStart[keys[i] + 1]++;
+        }
+        for (int k = 0; k < KEYS; k++) bucketStart[k + 1] += bucketStart[k];
+        for (int i = 0; i < count; i++) order[bucketStart[keys[i]]++] = i;
+
+        long deadline = start + budget.remainingNanos();
+        int currentKey = -1;
+        int drawn = 0;
+        for (; drawn < count; drawn++) {
+            if (drawn % BUDGET_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) break;
+            int i = order[drawn];
+            if (keys[i] != currentKey) {
+                currentKey = keys[i];
+                gc.setFill(fills[currentKey / ALPHA_BANDS][currentKey % ALPHA_BANDS]);
+            }
+            double s = size[i] * cellSize;
+            gc.fillRect(offsetX + x[i] * cellSize - s / 2, offsetY + y[i] * cellSize - s / 2, s, s);
+        }
+
+        long spent = System.nanoTime() - start;
+        budget.spend(spent);
+        // Spawn fewer particles while over budget and recover slowly once there is headroom
+        if (drawn < count || spent > budget.getBudgetNanos()) {
+            spawnScale = Math.max(0.1, spawnScale * 0.5);
+        } else if (spent < budget.getBudgetNanos() / 2) {
+            spawnScale = Math.min(1.0, spawnScale + 0.02);
+        }
+    }
+
+    private void removeAt(int i) {
+        // Swap-remove keeps the live particles packed at the front of the arrays.
+        int last = --count;
+        x[i] = x[last];
+        y[i] = y[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        life[i] = life[last];
+        maxLife[i] = maxLife[last];
+        size[i] = size[last];
+        color[i] = color[last];
+    }
+
+    public void clear() {
+        count = 0;
+        flash = 0;
+    }
+
+    public void setEnabled(boolean enabled) {
+        // Disabling drops the live particles; the canvas is cleared on the next update
+        this.enabled = enabled;
+        if (!enabled) clear();
+    }
+
+    public int getActiveCount() {
+        return count;
+    }
+}
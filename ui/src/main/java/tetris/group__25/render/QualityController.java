@@ -0,0 +1,101 @@
+package tetris.group__25.render;
+
+import java.util.Locale;
+
+/**
+ * Adaptive rendering quality. Watches the time between frames and the time spent in
+ * {@link Renderer#render}, steps down one {@link Level} at a time while frames are being
+ * missed, and steps back up after a stretch of on-time frames with headroom. A level that
+ * has to be left again soon after it was restored is retried only after a longer wait, so
+ * the picture does not flicker between levels on a machine sitting right at the budget.
+ * Run with {@code -Dtetris.quality=high|medium|low|minimal} to pin a level instead.
+ */
+public class QualityController {
+    /**
+     * Quality levels from cheapest to fullest. Each level keeps everything the one below
+     * it draws; the costliest effects for the least visual value go first.
+     */
+    public enum Level {
+        MINIMAL, LOW, MEDIUM, HIGH;
+
+        public boolean particles() { return this == HIGH; }
+        public boolean gradients() { return compareTo(MEDIUM) >= 0; }
+        public boolean pieceStrokes() { return compareTo(MEDIUM) >= 0; }
+        public boolean gridStrokes() { return compareTo(LOW) >= 0; }
+        public boolean smoothAnimations() { return compareTo(LOW) >= 0; }
+    }
+
+    private static final double SMOOTHING = 0.05;        // weight of the newest frame in the averages
+    private static final double MISSED = 1.25;           // average interval over target that counts as dropping frames
+    private static final double ON_TIME = 1.05;          // average interval close enough to target to try a higher level
+    private static final double HEADROOM = 0.5;          // render work under this share of the target leaves room
+    private static final int DOWNGRADE_FRAMES = 30;
+    private static final int UPGRADE_FRAMES = 180;
+    private static final int MAX_UPGRADE_FRAMES = 60 * 60;
+    private static final long STALL_NANOS = 250_000_000L; // longer gaps are pauses or hidden windows, not slow frames
+
+    private final long targetNanos;
+    private final boolean adaptive;
+    private Level level;
+    private double averageInterval, averageWork;
+    private long lastFrame;
+    private int overFrames, underFrames;
+    private int upgradeFrames = UPGRADE_FRAMES;
+    private int framesAtLevel;
+    private boolean upgraded;
+
+    public QualityController(long targetNanos, Level fixedLevel) {
+        this.targetNanos = targetNanos;
+        this.adaptive = fixedLevel == null;
+        this.level = adaptive ? Level.HIGH : fixedLevel;
+        this.averageInterval = targetNanos;
+    }
+
+    public static QualityController fromSystemProperties() {
+        long fps = Long.getLong("tetris.targetFps", 60);
+        String quality = System.getProperty("tetris.quality", "auto");
+        Level fixed = quality.equals("auto") ? null : Level.valueOf(quality.toUpperCase(Locale.ROOT));
+        return new QualityController(1_000_000_000L / Math.max(1, fps), fixed);
+    }
+
+    public boolean frame(long frameStart, long workNanos) {
+        /*
+         * Feed one rendered frame; returns true when the level changed and the renderer
+         * has to apply it.
+         */
+        long interval = frameStart - lastFrame;
+        lastFrame = frameStart;
+        if (!adaptive || interval > STALL_NANOS || interval <= 0) return false;
+        averageInterval += (interval - averageInterval) * SMOOTHING;
+        averageWork += (workNanos - averageWork) * SMOOTHING;
+        framesAtLevel++;
+
+        if (averageInterval > targetNanos * MISSED) {
+            underFrames = 0;
+            if (++overFrames < DOWNGRADE_FRAMES || level == Level.MINIMAL) return false;
+            // Falling back right after an upgrade means that level does not fit: wait longer next time
+            if (upgraded && framesAtLevel < upgradeFrames) upgradeFrames = Math.min(MAX_UPGRADE_FRAMES, upgradeFrames * 2);
+            return change(Level.values()[level.ordinal() - 1]);
+        }
+        overFrames = 0;
+        if (averageInterval < targetNanos * ON_TIME && averageWork < targetNanos * HEADROOM) {
+            if (++underFrames < upgradeFrames || level == Level.HIGH) return false;
+            return change(Level.values()[level.ordinal() + 1]);
+        }
+        underFrames = 0;
+        return false;
+    }
+
+    private boolean change(Level next) {
+        // Judge the new level on its own frames
+        upgraded = next.compareTo(level) > 0;
+        level = next;
+        averageInterval = targetNanos;
+        overFrames = underFrames = framesAtLevel = 0;
+        return true;
+    }
+
+    public Level getLevel() { return level; }
+    public boolean isAdaptive() { return adaptive; }
+    public double getAverageFrameMillis() { return averageInterval / 1e6; }
+}
@@ -1,28 +1,30 @@
 package tetris.group__25.render;
 
-import javafx.animation.FadeTransition;
-import javafx.animation.ParallelTransition;
-import javafx.animation.ScaleTransition;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
-import javafx.scene.effect.DropShadow;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.CycleMethod;
-import javafx.scene.paint.LinearGradient;
-import javafx.scene.paint.Stop;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.control.Label;
-import javafx.util.Duration;
 import tetris.group__25.engine.Board;
+import tetris.group__25.event.EventBus;
+import tetris.group__25.event.GameEvent;
+import tetris.group__25.event.GameEventListener;
+import tetris.group__25.metrics.LatencyTracker;
+import tetris.group__25.tetromino.Piece;
 import tetris.group__25.tetromino.Tetromino;
 
 import java.util.ArrayList;
 import java.util.List;
 
-public class Renderer {
+/**
+ * Draws one board into the game scene. Board changes arrive as {@link GameEvent}s and only
+ * mark the parts they touch as dirty (grid, falling piece, hold and next queue); a frame
+ * redraws just those, so a frame in which nothing happened only advances the effects.
+ */
+public class Renderer implements GameEventListener {
     private static final int ROWS = 20, COLS = 10;
     private final Pane boardPane, holdPane, nextPane;
     private final Rectangle background;
@@ -30,10 +32,20 @@ public class Renderer {
     private final Label scoreLabel, levelLabel, linesLabel, highScoreLabel;
     private VBox gameOverBox, pauseBox;
     private final Rectangle[][] gridRectangles;
-    private final List<Rectangle> tempRects = new ArrayList<>();
+    private final LineClearEffect lineClearEffect;
+    private final ParticleSystem particles;
+    private final int[][] shownCodes = new int[ROWS][COLS];
+    private final Rectangle[] activeRects = new Rectangle[4], ghostRects = new Rectangle[4], hintRects = new Rectangle[4];
+    private int hint = Piece.NONE;
+    private boolean gridDirty = true, pieceDirty = true, queueDirty = true, hintDirty = true;
+    private int shownScore = -1, shownLevel = -1, shownLines = -1, shownHighScore = -1;
+    private int shownTheme = -1;
+    private long frameTime = System.nanoTime(); // pulse timestamp of the last frame drawn
+    private final QualityController quality = QualityController.fromSystemProperties();
+    private Color pieceStroke = Palette.CELL_STROKE;
     private double cellSize, offsetX, offsetY;
     private Runnable onRestartGame, onBackToMenu;
-    private boolean isAnimating = false;
+    private LatencyTracker latencyTracker;
 
     public Renderer(Pane boardPane, Pane holdPane, Pane nextPane,
                     Rectangle background, StackPane rootStack,
@@ -51,11 +63,47 @@ public class Renderer {
         this.gridRectangles = new Rectangle[ROWS][COLS];
 
         initializeGrid();
-        initializeGameOverBox();
-        initializePauseBox();
+        lineClearEffect = new LineClearEffect(boardPane, ROWS, EffectBudget.SHARED);
+        particles = new ParticleSystem(boardPane, 4096, EffectBudget.SHARED);
+        initializePieceRects(activeRects);
+        initializePieceRects(ghostRects);
+        initializePieceRects(hintRects);
+        for (Rectangle r : hintRects) {
+            r.setStroke(Color.WHITE);
+            r.setStrokeWidth(2);
+        }
+        // The pause and game over overlays are built the first time they are shown
+        applyQuality();
 
         boardPane.widthProperty().addListener((o, v1, v2) -> updateGridLayout());
         boardPane.heightProperty().addListener((o, v1, v2) -> updateGridLayout());
+        // The previews are centred in their panes
+        holdPane.widthProperty().addListener((o, v1, v2) -> queueDirty = true);
+        holdPane.heightProperty().addListener((o, v1, v2) -> queueDirty = true);
+        nextPane.widthProperty().addListener((o, v1, v2) -> queueDirty = true);
+    }
+
+    public void subscribe(EventBus bus) {
+        bus.subscribe(this);
+    }
+
+    @Override
+    public void onEvent(GameEvent event) {
+        switch (event.getType()) {
+            case PIECE_SPAWNED, HOLD -> pieceDirty = queueDirty = true;
+            case PIECE_MOVED, GAME_OVER -> pieceDirty = true;
+            case PIECE_LOCKED, GARBAGE_ADDED -> gridDirty = pieceDirty = true;
+            case BOARD_CHANGED -> gridDirty = pieceDirty = queueDirty = true;
+            case HARD_DROP -> playHardDrop(Tetromino.of(event.getPiece()), event.getValue());
+            case LINES_CLEARED -> {
+                List<Integer> rows = new ArrayList<>(4);
+                for (int bits = event.getRows(); bits != 0; bits &= bits - 1) {
+                    rows.add(Integer.numberOfTrailingZeros(bits));
+                }
+                playLineClear(rows);
+            }
+            case LEVEL_UP -> playLevelUp();
+        }
     }
 
     public void setOnRestartGame(Runnable callback) {
@@ -66,12 +114,22 @@ public class Renderer {
         this.onBackToMenu = callback;
     }
 
+    public void setHint(int piece) {
+        // A suggested placement drawn as an outline, or Piece.NONE for no hint
+        this.hint = piece;
+        hintDirty = true;
+    }
+
+    public void setLatencyTracker(LatencyTracker latencyTracker) {
+        this.latencyTracker = latencyTracker;
+    }
+
     private void initializeGrid() {
         for (int y = 0; y < ROWS; y++)
             for (int x = 0; x < COLS; x++) {
                 Rectangle r = new Rectangle();
-                r.setFill(Color.rgb(35, 40, 60));
-                r.setStroke(Color.rgb(70, 75, 95));
+                r.setFill(Palette.EMPTY_CELL);
+                r.setStroke(Palette.GRID_STROKE);
                 r.setStrokeWidth(1);
                 boardPane.getChildren().add(r);
                 gridRectangles[y][x] = r;
@@ -79,6 +137,18 @@ public class Renderer {
         updateGridLayout();
     }
 
+    private void initializePieceRects(Rectangle[] rects) {
+        // The falling piece and its ghost reuse the same four rectangles every frame.
+        for (int i = 0; i < rects.length; i++) {
+            Rectangle r = new Rectangle();
+            r.setStroke(Palette.CELL_STROKE);
+            r.setStrokeWidth(1);
+            r.setVisible(false);
+            boardPane.getChildren().add(r);
+            rects[i] = r;
+        }
+    }
+
     private void initializeGameOverBox() {
         gameOverBox = new VBox(20);
         gameOverBox.setAlignment(Pos.CENTER);
@@ -188,10 +258,23 @@ public class Renderer {
         StackPane.setAlignment(pauseBox, Pos.CENTER);
     }
 
-    public void showPauseOverlay() { pauseBox.setVisible(true); }
-    public void hidePauseOverlay() { pauseBox.setVisible(false); }
-    public void showGameOverOverlay() { gameOverBox.setVisible(true); }
-    public void hideGameOverOverlay() { gameOverBox.setVisible(false); }
+    public void showPauseOverlay() {
+        if (pauseBox == null) initializePauseBox();
+        pauseBox.setVisible(true);
+    }
+
+    public void hidePauseOverlay() {
+        if (pauseBox != null) pauseBox.setVisible(false);
+    }
+
+    public void showGameOverOverlay() {
+        if (gameOverBox == null) initializeGameOverBox();
+        gameOverBox.setVisible(true);
+    }
+
+    public void hideGameOverOverlay() {
+        if (gameOverBox != null) gameOverBox.setVisible(false);
+    }
 
     private void updateGridLayout() {
         double w = boardPane.getWidth(), h = boardPane.getHeight();
@@ -212,76 +295,121 @@ public class Renderer {
         double size4 = 4 * cellSize;
         holdPane.setPrefSize(size4 + 20, size4 + 20);
         nextPane.setPrefHeight((size4 + 30) * 3);
+        gridDirty = pieceDirty = queueDirty = hintDirty = true;
     }
 
-    public void render(Board board, int score, int level, int lines, int highScore) {
-        gameOverBox.setVisible(board.isGameOver());
+    public void render(long now, Board board, int score, int level, int lines, int highScore) {
+        /*
+         * Draw one frame. now is the pulse timestamp, the same for every board drawn in
+         * this pulse, so the boards share one effect budget per frame.
+         */
+        long frameStart = System.nanoTime();
+        frameTime = now;
+        if (board.isGameOver()) {
+            showGameOverOverlay();
+        } else {
+            hideGameOverOverlay();
+        }
         updateBackground(level);
-        updateGrid(board.getGrid());
-        boardPane.getChildren().removeAll(tempRects);
-        tempRects.clear();
-
-        Tetromino cur = board.getCurrentPiece();
-        if (cur != null) {
-            renderPiece(cur, false);
-            Tetromino ghost = cur.clone();
-            ghost.setY(board.getGhostPosition()[1]);
-            renderPiece(ghost, true);
+        if (gridDirty) {
+            updateGrid(board);
+            gridDirty = false;
         }
-        renderPieceInPane(board.getHoldPiece(), holdPane);
-        renderNextPieces(board.getNextPieces(3));
+        if (pieceDirty) {
+            Tetromino cur = board.getCurrentPiece();
+            if (cur != null) {
+                renderPiece(cur, cur.y(), activeRects, Palette.active(cur.getColorCode()));
+                renderPiece(cur, cur.y() + board.dropDistance(), ghostRects, Palette.ghost(cur.getColorCode()));
+            } else {
+                hideRects(activeRects, 0);
+                hideRects(ghostRects, 0);
+            }
+            pieceDirty = false;
+        }
+        if (hintDirty) {
+            if (hint != Piece.NONE) {
+                Tetromino suggested = Tetromino.of(hint);
+                renderPiece(suggested, suggested.y(), hintRects, Color.TRANSPARENT);
+            } else {
+                hideRects(hintRects, 0);
+            }
+            hintDirty = false;
+        }
+        if (queueDirty) {
+            renderPieceInPane(board.getHoldPiece(), holdPane);
+            renderNextPieces(board.getNextPieces(3));
+            queueDirty = false;
+        }
+        lineClearEffect.update(now, offsetX, offsetY, cellSize, COLS);
+        particles.update(now, offsetX, offsetY, cellSize);
         updateStats(score, level, lines, highScore);
+        if (latencyTracker != null) latencyTracker.rendered();
+        if (quality.frame(now, System.nanoTime() - frameStart)) applyQuality();
+    }
+
+    private void applyQuality() {
+        /*
+         * Switch effects on or off for the current quality level. Strokes and the
+         * background are only touched here, never per frame.
+         */
+        QualityController.Level q = quality.getLevel();
+        particles.setEnabled(q.particles());
+        lineClearEffect.setSmooth(q.smoothAnimations());
+        shownTheme = -1;
+        queueDirty = true;
+        pieceStroke = q.pieceStrokes() ? Palette.CELL_STROKE : null;
+        for (Rectangle r : activeRects) r.setStroke(pieceStroke);
+        for (Rectangle r : ghostRects) r.setStroke(pieceStroke);
+        Color gridStroke = q.gridStrokes() ? Palette.GRID_STROKE : null;
+        for (Rectangle[] row : gridRectangles)
+            for (Rectangle r : row) r.setStroke(gridStroke);
+    }
+
+    public QualityController getQuality() {
+        return quality;
     }
 
     private void updateBackground(int level) {
-        Color baseColor = Color.rgb(25, 30, 45);
-        Color accentColor = Color.rgb(40, 45, 70);
-        Color highlightColor = Color.rgb(50, 55, 85);
-
-        Stop[] stops = {
-                new Stop(0, baseColor),
-                new Stop(0.3, accentColor),
-                new Stop(0.7, highlightColor),
-                new Stop(1, baseColor)
-        };
-        background.setFill(new LinearGradient(0, 0, 1, 1, true,
-                CycleMethod.NO_CYCLE, stops));
+        int theme = Palette.themeFor(level);
+        if (theme != shownTheme) {
+            background.setFill(quality.getLevel().gradients() ? Palette.background(theme) : Palette.flatBackground(theme));
+            shownTheme = theme;
+        }
     }
 
-    private void updateGrid(int[][] grid) {
+    private void updateGrid(Board board) {
+        // Only touch cells whose colour code changed since the grid was last drawn
         for (int y = 0; y < ROWS; y++)
             for (int x = 0; x < COLS; x++) {
-                int code = grid[y][x];
-                if (code == 0) {
-                    gridRectangles[y][x].setFill(Color.rgb(35, 40, 60));
-                } else {
-                    Color baseColor = Tetromino.getColorFromCode(code);
-                    gridRectangles[y][x].setFill(baseColor.deriveColor(0, 0.8, 1.1, 0.9));
+                int code = board.getCell(x, y);
+                if (code != shownCodes[y][x]) {
+                    gridRectangles[y][x].setFill(Palette.locked(code));
+                    shownCodes[y][x] = code;
                 }
             }
     }
 
-    private void renderPiece(Tetromino t, boolean ghost) {
-        if (t == null) return;
-        Color c = t.getColor();
-        if (ghost) {
-            c = c.deriveColor(0, 0.3, 1.2, 0.4);
-        } else {
-            c = c.deriveColor(0, 0.8, 1.1, 0.95);
-        }
+    private void renderPiece(Tetromino t, int pieceY, Rectangle[] rects, Color fill) {
         int[][] shape = t.getShape();
+        int used = 0;
         for (int r = 0; r < shape.length; r++)
             for (int c2 = 0; c2 < shape[r].length; c2++)
-                if (shape[r][c2] != 0) {
-                    double x = offsetX + (t.getX()+c2)*cellSize;
-                    double y = offsetY + (t.getY()+r)*cellSize;
-                    Rectangle rect = new Rectangle(x, y, cellSize-2, cellSize-2);
-                    rect.setFill(c);
-                    rect.setStroke(Color.rgb(255, 255, 255, 0.3));
-                    rect.setStrokeWidth(1);
-                    boardPane.getChildren().add(rect);
-                    tempRects.add(rect);
+                if (shape[r][c2] != 0 && used < rects.length) {
+                    Rectangle rect = rects[used++];
+                    rect.setX(offsetX + (t.x()+c2)*cellSize);
+                    rect.setY(offsetY + (pieceY+r)*cellSize);
+                    rect.setWidth(cellSize-2);
+                    rect.setHeight(cellSize-2);
+                    rect.setFill(fill);
+                    rect.setVisible(true);
                 }
+        hideRects(rects, used);
+    }
+
+    private void hideRects(Rectangle[] rects, int from) {
+        for (int i = from; i < rects.length; i++) {
+            rects[i].setVisible(false);
+        }
     }
 
     private void renderNextPieces(List<Tetromino> list) {
@@ -299,9 +427,8 @@ public class Renderer {
                                 yOff + r*cellSize,
                                 cellSize-2, cellSize-2
                         );
-                        Color enhancedColor = t.getColor().deriveColor(0, 0.8, 1.1, 0.9);
-                        rect.setFill(enhancedColor);
-                        rect.setStroke(Color.rgb(255, 255, 255, 0.3));
+                        rect.setFill(Palette.preview(t.getColorCode()));
+                        rect.setStroke(pieceStroke);
                         rect.setStrokeWidth(1);
                         nextPane.getChildren().add(rect);
                     }
@@ -309,62 +436,37 @@ public class Renderer {
         }
     }
 
-    public void animateLineClearing(List<Integer> clearedLines, Runnable onComplete) {
-        if (clearedLines.isEmpty()) {
-            onComplete.run();
-            return;
-        }
-
-        isAnimating = true;
-        List<Rectangle> linesToAnimate = new ArrayList<>();
-
-        for (int line : clearedLines) {
-            for (int x = 0; x < COLS; x++) {
-                linesToAnimate.add(gridRectangles[line][x]);
-            }
-        }
-
-        ParallelTransition parallelTransition = new ParallelTransition();
-
-        for (Rectangle rect : linesToAnimate) {
-            FadeTransition fadeOut = new FadeTransition(Duration.millis(300), rect);
-            fadeOut.setFromValue(1.0);
-            fadeOut.setToValue(0.0);
-
-            ScaleTransition scaleOut = new ScaleTransition(Duration.millis(300), rect);
-            scaleOut.setFromX(1.0);
-            scaleOut.setFromY(1.0);
-            scaleOut.setToX(1.1);
-            scaleOut.setToY(1.1);
-
-            rect.setFill(Color.WHITE);
-
-            ParallelTransition rectAnimation = new ParallelTransition(fadeOut, scaleOut);
-            parallelTransition.getChildren().add(rectAnimation);
-        }
-
-        parallelTransition.setOnFinished(e -> {
-            for (Rectangle rect : linesToAnimate) {
-                rect.setOpacity(1.0);
-                rect.setScaleX(1.0);
-                rect.setScaleY(1.0);
-            }
-            isAnimating = false;
-            onComplete.run();
-        });
+    public void playLineClear(List<Integer> clearedLines) {
+        lineClearEffect.start(clearedLines, frameTime);
+        particles.burstRows(clearedLines, COLS);
+    }
 
-        parallelTransition.play();
+    public void playHardDrop(Tetromino piece, int landingY) {
+        particles.trail(piece.getShape(), piece.x(), piece.y(), landingY, piece.getColorCode());
     }
 
-    public boolean isAnimating() {
-        return isAnimating;
+    public void playLevelUp() {
+        particles.levelUp(ROWS, COLS);
     }
 
     private void updateStats(int score, int level, int lines, int highScore) {
-        scoreLabel.setText("Score: " + String.format("%,d", score));
-        levelLabel.setText("Level: " + level);
-        linesLabel.setText("Lines: " + lines);
-        highScoreLabel.setText("High: " + String.format("%,d", highScore));
+        // Labels are only rebuilt when their value changed
+        if (score != shownScore) {
+            scoreLabel.setText("Score: " + String.format("%,d", score));
+            shownScore = score;
+        }
+        if (level != shownLevel) {
+            levelLabel.setText("Level: " + level);
+            shownLevel = level;
+        }
+        if (lines != shownLines) {
+            linesLabel.setText("Lines: " + lines);
+            shownLines = lines;
+        }
+        if (highScore != shownHighScore) {
+            highScoreLabel.setText("High: " + String.format("%,d", highScore));
+            shownHighScore = highScore;
+        }
     }
 
     private void renderPieceInPane(Tetromino t, Pane pane) {
@@ -381,9 +483,8 @@ public class Renderer {
                             startY + r*cellSize,
                             cellSize-2, cellSize-2
                     );
-                    Color enhancedColor = t.getColor().deriveColor(0, 0.8, 1.1, 0.9);
-                    rect.setFill(enhancedColor);
-                    rect.setStroke(Color.rgb(255, 255, 255, 0.3));
+                    rect.setFill(Palette.preview(t.getColorCode()));
+                    rect.setStroke(pieceStroke);
                     rect.setStrokeWidth(1);
                     pane.getChildren().add(rect);
                 }